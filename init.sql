@@ -22,6 +22,9 @@ CREATE TABLE IF NOT EXISTS blog_posts (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     title VARCHAR(200) NOT NULL,
     content TEXT NOT NULL,
+    excerpt VARCHAR(153),
+    word_count INT,
+    reading_minutes INT,
     author_id BIGINT NOT NULL,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
@@ -29,6 +32,13 @@ CREATE TABLE IF NOT EXISTS blog_posts (
     FOREIGN KEY (author_id) REFERENCES users(id) ON DELETE CASCADE
 );
 
+-- Create post_views table (write-behind view counters)
+CREATE TABLE IF NOT EXISTS post_views (
+    post_id BIGINT PRIMARY KEY,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (post_id) REFERENCES blog_posts(id) ON DELETE CASCADE
+);
+
 -- Insert default admin user (password: admin123)
 INSERT INTO users (username, email, password, first_name, last_name, role) 
 VALUES ('admin', 'admin@javablogs.com', '$2a$10$N.zmdr9k7uOCQb376NoUnuTJ8iAt6Z5EHsM8lE9lBOsl7iKTVEFDa', 'Admin', 'User', 'ADMIN')
@@ -52,3 +62,10 @@ CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_blog_posts_author ON blog_posts(author_id);
 CREATE INDEX IF NOT EXISTS idx_blog_posts_created_at ON blog_posts(created_at);
 CREATE INDEX IF NOT EXISTS idx_blog_posts_published ON blog_posts(is_published);
+CREATE INDEX IF NOT EXISTS idx_blog_posts_published_created ON blog_posts(is_published, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_blog_posts_author_created ON blog_posts(author_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_created ON users(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_role_created ON users(role, created_at, id);
+
+-- Full-text search (app.search.mode=fulltext)
+CREATE FULLTEXT INDEX ft_blog_posts_title_content ON blog_posts(title, content);
@@ -0,0 +1,8 @@
+-- Precomputed listing fields for blog_posts (excerpt, word count, reading time).
+-- Existing rows are filled in by BlogPostBackfill on the next application start.
+USE javablogs;
+
+ALTER TABLE blog_posts
+    ADD COLUMN excerpt VARCHAR(153) NULL AFTER content,
+    ADD COLUMN word_count INT NULL AFTER excerpt,
+    ADD COLUMN reading_minutes INT NULL AFTER word_count;
@@ -0,0 +1,8 @@
+-- Per-post view counters written in batches by ViewCounterService.
+USE javablogs;
+
+CREATE TABLE IF NOT EXISTS post_views (
+    post_id BIGINT PRIMARY KEY,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    FOREIGN KEY (post_id) REFERENCES blog_posts(id) ON DELETE CASCADE
+);
@@ -0,0 +1,5 @@
+-- FULLTEXT index used when app.search.mode=fulltext (MATCH ... AGAINST over title and content).
+-- Building it rebuilds blog_posts; run it outside peak hours on large tables.
+USE javablogs;
+
+ALTER TABLE blog_posts ADD FULLTEXT INDEX ft_blog_posts_title_content (title, content);
@@ -0,0 +1,12 @@
+-- Composite indexes for keyset pagination: the public listing and author pages (is_published/author_id, created_at, id)
+-- and the admin user table (created_at, id and role, created_at, id).
+-- The application runs with ddl-auto=validate, so existing databases only get them from here.
+USE javablogs;
+
+ALTER TABLE blog_posts
+    ADD INDEX idx_blog_posts_published_created (is_published, created_at, id),
+    ADD INDEX idx_blog_posts_author_created (author_id, created_at, id);
+
+ALTER TABLE users
+    ADD INDEX idx_users_created (created_at, id),
+    ADD INDEX idx_users_role_created (role, created_at, id);
@@ -0,0 +1,19 @@
+package com.example.javablogs.benchmark;
+
+import com.example.javablogs.JavaBlogsApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Boots the application on the "jmh" profile (H2, seeded by BenchmarkDataSeeder).
+// Arguments are passed as command-line properties, e.g. --app.search.mode=like.
+final class BenchmarkContext {
+    
+    private BenchmarkContext() {}
+    
+    static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(JavaBlogsApplication.class)
+                .profiles("jmh")
+                .logStartupInfo(false)
+                .run(args);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.javablogs.benchmark;
+
+import com.example.javablogs.entity.Role;
+import com.example.javablogs.entity.User;
+import com.example.javablogs.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Fills the H2 database before ApplicationReadyEvent, so the search index and dashboard
+// statistics are built over the seeded posts just like they would be in production
+@Component
+@Profile("jmh")
+@Order(1)
+public class BenchmarkDataSeeder implements CommandLineRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BenchmarkDataSeeder.class);
+    
+    private static final int BATCH_SIZE = 500;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Value("${benchmark.authors:20}")
+    private int authorCount;
+    
+    @Value("${benchmark.posts:5000}")
+    private int postCount;
+    
+    // Built after the bulk insert, which is much faster than maintaining it row by row (MySQL only)
+    @Value("${benchmark.fulltext-index:false}")
+    private boolean fulltextIndex;
+    
+    @Override
+    public void run(String... args) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(42);
+        
+        String password = passwordEncoder.encode("benchmark");
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < authorCount; i++) {
+            User author = new User("author" + i, "author" + i + "@javablogs.com", password, Role.USER);
+            author.setFirstName(SampleText.capitalize(SampleText.word(random)));
+            author.setLastName(SampleText.capitalize(SampleText.word(random)));
+            authors.add(author);
+        }
+        authors = userRepository.saveAll(authors);
+        
+        // Posts are spread over the last two years, with about one in ten left as a draft
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < postCount; i++) {
+            LocalDateTime createdAt = now.minusMinutes((long) (postCount - i) * 210);
+            batch.add(new Object[] {
+                    SampleText.title(random),
+                    SampleText.content(random),
+                    Timestamp.valueOf(createdAt),
+                    Timestamp.valueOf(createdAt),
+                    authors.get(random.nextInt(authors.size())).getId(),
+                    random.nextInt(10) != 0
+            });
+            if (batch.size() == BATCH_SIZE || i == postCount - 1) {
+                jdbcTemplate.batchUpdate(
+                        "INSERT INTO blog_posts (title, content, created_at, updated_at, author_id, is_published) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        
+        if (fulltextIndex) {
+            jdbcTemplate.execute("ALTER TABLE blog_posts ADD FULLTEXT INDEX ft_blog_posts_title_content (title, content)");
+        }
+        
+        logger.info("Seeded {} authors and {} posts in {} ms", authorCount, postCount, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.javablogs.benchmark;
+
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.pagination.CursorPage;
+import com.example.javablogs.service.BlogPostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+// Listing and search read paths against the seeded H2 database, with the Spring caches disabled.
+// SampleTime mode reports p50/p90/p99/p99.9 latencies alongside throughput.
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class BlogPostServiceBenchmark {
+    
+    private static final int PAGE_SIZE = 10;
+    
+    private ConfigurableApplicationContext context;
+    private BlogPostService blogPostService;
+    
+    private int deepPage;
+    private String deepCursor;
+    
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.start();
+        blogPostService = context.getBean(BlogPostService.class);
+        
+        Page<PostSummary> firstPage = blogPostService.getPublishedBlogPosts(0, PAGE_SIZE);
+        deepPage = firstPage.getTotalPages() / 2;
+        
+        // Walk the keyset listing to the same depth so both pagination styles are compared like for like
+        CursorPage<PostSummary> page = blogPostService.getPublishedBlogPosts(null, PAGE_SIZE);
+        for (int i = 0; i < deepPage && page.hasNext(); i++) {
+            page = blogPostService.getPublishedBlogPosts(page.getNextCursor(), PAGE_SIZE);
+        }
+        deepCursor = page.getNextCursor();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Page<PostSummary> offsetFirstPage() {
+        return blogPostService.getPublishedBlogPosts(0, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public Page<PostSummary> offsetDeepPage() {
+        return blogPostService.getPublishedBlogPosts(deepPage, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public CursorPage<PostSummary> keysetFirstPage() {
+        return blogPostService.getPublishedBlogPosts(null, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public CursorPage<PostSummary> keysetDeepPage() {
+        return blogPostService.getPublishedBlogPosts(deepCursor, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public Page<PostSummary> searchCommonTerm() {
+        return blogPostService.searchPublishedPosts("spring", 0, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public Page<PostSummary> searchRareTerms() {
+        return blogPostService.searchPublishedPosts("interceptor lifecycle", 0, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public Page<PostSummary> searchPhrase() {
+        return blogPostService.searchPublishedPosts("java spring boot", 0, PAGE_SIZE);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.javablogs.benchmark;
+
+import com.example.javablogs.entity.BlogPost;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExcerptBenchmark {
+    
+    // Shorter than, a little over, and far over the excerpt length
+    @Param({"100", "2000", "20000"})
+    private int contentLength;
+    
+    private BlogPost post;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        StringBuilder content = new StringBuilder();
+        while (content.length() < contentLength) {
+            content.append(SampleText.content(random));
+        }
+        content.setLength(contentLength);
+        
+        post = new BlogPost();
+        post.setContent(content.toString());
+    }
+    
+    @Benchmark
+    public String excerpt() {
+        return post.getExcerpt();
+    }
+}
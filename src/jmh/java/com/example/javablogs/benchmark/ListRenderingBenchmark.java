@@ -0,0 +1,96 @@
+package com.example.javablogs.benchmark;
+
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.pagination.CursorPage;
+import com.example.javablogs.service.BlogPostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.View;
+import org.springframework.web.servlet.ViewResolver;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Thymeleaf rendering of blog/list.html only: the model is loaded once in setUp,
+// so these numbers exclude the database and the service layer
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class ListRenderingBenchmark {
+    
+    private static final int PAGE_SIZE = 10;
+    
+    private ConfigurableApplicationContext context;
+    private View view;
+    private MockServletContext servletContext;
+    
+    private Map<String, Object> keysetModel;
+    private Map<String, Object> searchModel;
+    
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkContext.start();
+        view = context.getBean("thymeleafViewResolver", ViewResolver.class).resolveViewName("blog/list", Locale.US);
+        servletContext = new MockServletContext();
+        
+        BlogPostService blogPostService = context.getBean(BlogPostService.class);
+        
+        // Same model attributes as HomeController.blogList
+        CursorPage<PostSummary> latest = blogPostService.getPublishedBlogPosts(null, PAGE_SIZE);
+        keysetModel = new HashMap<>();
+        keysetModel.put("blogPosts", latest.getContent());
+        keysetModel.put("nextCursor", latest.getNextCursor());
+        keysetModel.put("cursor", null);
+        
+        Page<PostSummary> results = blogPostService.searchPublishedPosts("spring", 0, PAGE_SIZE);
+        searchModel = new HashMap<>();
+        searchModel.put("blogPosts", results.getContent());
+        searchModel.put("search", "spring");
+        searchModel.put("currentPage", 0);
+        searchModel.put("totalPages", results.getTotalPages());
+        searchModel.put("totalItems", results.getTotalElements());
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public int renderLatestPosts() throws Exception {
+        return render(keysetModel);
+    }
+    
+    @Benchmark
+    public int renderSearchResults() throws Exception {
+        return render(searchModel);
+    }
+    
+    private int render(Map<String, Object> model) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(servletContext, "GET", "/blog");
+        request.setAttribute(DispatcherServlet.WEB_APPLICATION_CONTEXT_ATTRIBUTE, context);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        view.render(model, request, response);
+        return response.getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.javablogs.benchmark;
+
+import java.util.Random;
+
+// Deterministic pseudo-English text for seeding posts. Word frequencies are skewed towards the
+// start of the vocabulary so that search terms have realistic, uneven document frequencies.
+final class SampleText {
+    
+    private static final String[] WORDS = {
+            "the", "and", "java", "spring", "to", "of", "a", "in", "boot", "is", "with", "for", "data",
+            "application", "service", "database", "query", "performance", "security", "thread", "cache",
+            "hibernate", "repository", "controller", "template", "index", "memory", "latency", "request",
+            "response", "transaction", "connection", "pool", "configuration", "deployment", "container",
+            "kubernetes", "docker", "mysql", "jvm", "garbage", "collector", "heap", "stream", "lambda",
+            "record", "module", "reactive", "virtual", "benchmark", "profiling", "metrics", "logging",
+            "testing", "migration", "schema", "entity", "projection", "pagination", "keyset", "offset",
+            "search", "token", "phrase", "ranking", "relevance", "compression", "throughput", "scaling",
+            "replica", "primary", "failover", "consistency", "isolation", "deadlock", "optimistic",
+            "pessimistic", "locking", "batching", "serialization", "json", "http", "servlet", "filter",
+            "interceptor", "aspect", "proxy", "bean", "context", "lifecycle", "startup", "shutdown"
+    };
+    
+    private SampleText() {}
+    
+    static String word(Random random) {
+        // Squaring a uniform value favours low indexes, roughly like a Zipf distribution
+        double u = random.nextDouble();
+        return WORDS[(int) (u * u * WORDS.length)];
+    }
+    
+    static String title(Random random) {
+        int length = 4 + random.nextInt(6);
+        StringBuilder title = new StringBuilder(capitalize(word(random)));
+        for (int i = 1; i < length; i++) {
+            title.append(' ').append(word(random));
+        }
+        return title.toString();
+    }
+    
+    // Between roughly 300 characters and 12 KB, with most posts in the 2-5 KB range
+    static String content(Random random) {
+        int paragraphs = 1 + random.nextInt(4) + random.nextInt(4) + random.nextInt(4);
+        StringBuilder content = new StringBuilder();
+        for (int p = 0; p < paragraphs; p++) {
+            int sentences = 3 + random.nextInt(6);
+            for (int s = 0; s < sentences; s++) {
+                int words = 6 + random.nextInt(14);
+                content.append(capitalize(word(random)));
+                for (int w = 1; w < words; w++) {
+                    content.append(' ').append(word(random));
+                }
+                content.append(". ");
+            }
+            content.append("\n\n");
+        }
+        return content.toString();
+    }
+    
+    static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
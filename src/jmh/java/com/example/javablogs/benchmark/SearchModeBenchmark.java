@@ -0,0 +1,77 @@
+package com.example.javablogs.benchmark;
+
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.service.BlogPostService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+
+import java.util.concurrent.TimeUnit;
+
+// Public search in each app.search.mode over the same seeded corpus.
+// H2 has no MATCH ... AGAINST, so the fulltext mode needs MySQL:
+//   -Djmh.args="-p database=mysql -p mode=index,like,fulltext"
+// (connection settings in application-jmh-mysql.properties)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class SearchModeBenchmark {
+    
+    private static final int PAGE_SIZE = 10;
+    
+    @Param({"index", "like"})
+    public String mode;
+    
+    @Param({"h2"})
+    public String database;
+    
+    private ConfigurableApplicationContext context;
+    private BlogPostService blogPostService;
+    
+    @Setup
+    public void setUp() {
+        context = "mysql".equals(database)
+                ? BenchmarkContext.start("--app.search.mode=" + mode, "--spring.profiles.active=jmh-mysql")
+                : BenchmarkContext.start("--app.search.mode=" + mode);
+        blogPostService = context.getBean(BlogPostService.class);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public Page<PostSummary> commonTerm() {
+        return blogPostService.searchPublishedPosts("spring", 0, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public Page<PostSummary> commonTermDeepPage() {
+        return blogPostService.searchPublishedPosts("spring", 20, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public Page<PostSummary> rareTerms() {
+        return blogPostService.searchPublishedPosts("interceptor lifecycle", 0, PAGE_SIZE);
+    }
+    
+    @Benchmark
+    public Page<PostSummary> noMatch() {
+        return blogPostService.searchPublishedPosts("fortran", 0, PAGE_SIZE);
+    }
+}
@@ -2,11 +2,15 @@ package com.example.javablogs;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class JavaBlogsApplication {
-
+    
     public static void main(String[] args) {
-        SpringApplication.run(JavaBlogsApplication.class, args);
+        SpringApplication application = new SpringApplication(JavaBlogsApplication.class);
+        // Records startup steps for StartupReport and /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
     }
 }
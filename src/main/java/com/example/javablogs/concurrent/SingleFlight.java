@@ -0,0 +1,89 @@
+package com.example.javablogs.concurrent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Collapses concurrent loads of the same key into one. The first caller runs the loader on its own thread;
+// callers arriving while it is in flight wait for its result, or its exception, instead of loading again.
+// Nothing is cached: once the load completes the next caller starts a new one.
+// Waiting callers give up after the timeout rather than queueing behind a stuck load.
+public class SingleFlight<K, V> {
+    
+    private final String name;
+    private final long timeoutNanos;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter timeouts;
+    private final Counter failures;
+    
+    public SingleFlight(String name, Duration timeout, MeterRegistry registry) {
+        this.name = name;
+        this.timeoutNanos = timeout.toNanos();
+        this.loads = counter(registry, name, "load");
+        this.coalesced = counter(registry, name, "coalesced");
+        this.timeouts = counter(registry, name, "timeout");
+        this.failures = counter(registry, name, "failure");
+    }
+    
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> own = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(key, existing);
+        }
+        
+        loads.increment();
+        try {
+            V value = loader.get();
+            own.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            failures.increment();
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+    
+    private V await(K key, CompletableFuture<V> future) {
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new RuntimeException("Timed out waiting for " + name + " load of " + key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted waiting for " + name + " load of " + key);
+        } catch (ExecutionException e) {
+            // Rethrow the leader's exception as is so callers handle it the same way either way
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+    
+    private static Counter counter(MeterRegistry registry, String name, String result) {
+        return Counter.builder("app.single-flight.calls")
+                .description("Loads started and callers that shared an in-flight load")
+                .tag("name", name)
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.repository.BlogPostRepository;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Fills excerpt, word_count and reading_minutes for posts written before those columns existed.
+// Runs through JDBC so the backfill neither fires @PreUpdate nor moves updated_at.
+@Component
+public class BlogPostBackfill implements ApplicationRunner {
+    
+    private static final Logger logger = LoggerFactory.getLogger(BlogPostBackfill.class);
+    
+    private static final int BATCH_SIZE = 500;
+    
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = 0;
+        Long lastId = 0L;
+        List<BlogPost> batch;
+        do {
+            batch = blogPostRepository.findTop500ByExcerptIsNullAndIdGreaterThanOrderByIdAsc(lastId);
+            List<Object[]> rows = new ArrayList<>(batch.size());
+            for (BlogPost post : batch) {
+                int wordCount = BlogPost.wordCountOf(post.getContent());
+                rows.add(new Object[] {
+                        BlogPost.excerptOf(post.getContent()),
+                        wordCount,
+                        BlogPost.readingMinutesOf(wordCount),
+                        post.getId()
+                });
+                lastId = post.getId();
+            }
+            if (!rows.isEmpty()) {
+                // updated_at is assigned to itself so MySQL's ON UPDATE CURRENT_TIMESTAMP leaves it alone
+                jdbcTemplate.batchUpdate("UPDATE blog_posts SET excerpt = ?, word_count = ?, reading_minutes = ?, "
+                        + "updated_at = updated_at WHERE id = ?", rows);
+                updated += rows.size();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        
+        if (updated > 0) {
+            // The rows were updated behind Hibernate's back
+            entityManagerFactory.getCache().evict(BlogPost.class);
+            logger.info("Backfilled derived fields for {} posts", updated);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.javablogs.config;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// Runs BCrypt work on a small dedicated pool so a login storm can use at most that many cores.
+// When the pool and its queue are full, or a hash takes too long, the login fails fast instead of
+// tying up request threads.
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+    
+    public BoundedPasswordEncoder(PasswordEncoder delegate, ExecutorService executor, long timeoutMillis) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+    
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+    
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+    
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException("Too many concurrent password checks, try again later", e);
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new AuthenticationServiceException("Password check timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AuthenticationServiceException("Interrupted during password check", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AuthenticationServiceException("Password check failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.pagination.CursorPage;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String POSTS = "posts";
+    public static final String POST_PAGES = "postPages";
+    
+    @Value("${app.cache.posts.max-size:2000}")
+    private long postsMaxSize;
+    
+    // Listing pages are weighed by the number of posts they hold
+    @Value("${app.cache.post-pages.max-weight:10000}")
+    private long postPagesMaxWeight;
+    
+    @Value("${app.cache.ttl:10m}")
+    private Duration ttl;
+    
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        
+        // Caffeine evicts with W-TinyLFU; recordStats feeds the cache.gets/cache.evictions metrics
+        cacheManager.registerCustomCache(POSTS, Caffeine.newBuilder()
+                .maximumSize(postsMaxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(POST_PAGES, Caffeine.newBuilder()
+                .maximumWeight(postPagesMaxWeight)
+                .weigher((Object key, Object value) -> pageWeight(value))
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build());
+        
+        return cacheManager;
+    }
+    
+    private static int pageWeight(Object value) {
+        if (value instanceof CursorPage<?> page) {
+            return Math.max(1, page.getContent().size());
+        }
+        if (value instanceof Page<?> page) {
+            return Math.max(1, page.getNumberOfElements());
+        }
+        return 1;
+    }
+}
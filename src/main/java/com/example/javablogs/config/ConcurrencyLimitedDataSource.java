@@ -0,0 +1,89 @@
+package com.example.javablogs.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Caps the number of threads that can hold a JDBC connection at once. With virtual threads there can be
+// thousands of concurrent requests, so callers wait on a fair semaphore sized to the pool instead of
+// piling up inside the pool itself. The permit is released when the connection is closed.
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource {
+    
+    private final Semaphore permits;
+    private final long timeoutMillis;
+    
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, long timeoutMillis) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return wrap(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return wrap(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+    
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+    
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Timed out after " + timeoutMillis + "ms waiting for a database permit");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        }
+    }
+    
+    private Connection wrap(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
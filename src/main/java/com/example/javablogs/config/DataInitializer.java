@@ -2,19 +2,37 @@ package com.example.javablogs.config;
 
 import com.example.javablogs.entity.Role;
 import com.example.javablogs.entity.User;
+import com.example.javablogs.repository.UserRepository;
 import com.example.javablogs.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 public class DataInitializer implements CommandLineRunner {
     
+    private static final List<String> SEED_USERNAMES = List.of("admin", "demo");
+    
     @Autowired
     private UserService userService;
     
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Value("${app.seed-users.enabled:true}")
+    private boolean seedUsersEnabled;
+    
     @Override
     public void run(String... args) throws Exception {
+        // A single indexed query on every boot after the first; the per-user checks and
+        // password hashing below only run against a fresh database
+        if (!seedUsersEnabled || userRepository.countByUsernameIn(SEED_USERNAMES) == SEED_USERNAMES.size()) {
+            return;
+        }
+        
         // Check if admin user exists, if not create one
         if (!userService.existsByUsername("admin")) {
             User admin = new User();
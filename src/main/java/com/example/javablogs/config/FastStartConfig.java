@@ -0,0 +1,26 @@
+package com.example.javablogs.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+// Beans that must stay eager when spring.main.lazy-initialization=true (the fast-start profile).
+// @Scheduled methods are only registered once their bean exists, so a lazy bean would never run them.
+// The same goes for beans that only start background work when initialized and that nothing depends on.
+@Configuration
+public class FastStartConfig {
+    
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (hasScheduledMethods(beanType) || PinnedThreadMonitor.class.isAssignableFrom(beanType));
+    }
+    
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.javablogs.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+// Hibernate second-level cache on Caffeine through JCache. Regions are created here so their size
+// and expiry come from application.properties; hit and miss counts show up in the
+// hibernate.second.level.cache.* and hibernate.query.cache.* metrics.
+// With app.l2cache.enabled=false the cache is switched off in Hibernate as well: the entities' @Cache
+// annotations and the cacheable query hints are then ignored instead of getting unbounded regions.
+@Configuration
+public class HibernateCacheConfig {
+    
+    public static final String USERS = "users";
+    public static final String USERS_BY_USERNAME = "users-by-username";
+    public static final String BLOG_POSTS = "blog-posts";
+    
+    @Value("${app.l2cache.users.max-size:10000}")
+    private long usersMaxSize;
+    
+    // Cached posts carry their full content, so this region is the one to watch for heap use
+    @Value("${app.l2cache.blog-posts.max-size:2000}")
+    private long blogPostsMaxSize;
+    
+    @Value("${app.l2cache.queries.max-size:5000}")
+    private long queriesMaxSize;
+    
+    @Value("${app.l2cache.ttl:30m}")
+    private Duration ttl;
+    
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.l2cache.enabled", havingValue = "true", matchIfMissing = true)
+    public CacheManager hibernateCacheManager() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        createRegion(cacheManager, USERS, usersMaxSize, ttl);
+        createRegion(cacheManager, USERS_BY_USERNAME, usersMaxSize, ttl);
+        createRegion(cacheManager, BLOG_POSTS, blogPostsMaxSize, ttl);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queriesMaxSize, ttl);
+        // Holds one timestamp per table and must never lose entries before the query results do
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0, null);
+        return cacheManager;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "app.l2cache.enabled", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create-warn");
+        };
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "app.l2cache.enabled", havingValue = "false")
+    public HibernatePropertiesCustomizer secondLevelCacheDisabledCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+        };
+    }
+    
+    private static void createRegion(CacheManager cacheManager, String name, long maxSize, Duration ttl) {
+        if (cacheManager.getCache(name) != null) {
+            return;
+        }
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(name, configuration);
+    }
+}
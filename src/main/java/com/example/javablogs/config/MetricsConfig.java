@@ -0,0 +1,56 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.metrics.RequestMetrics;
+import com.example.javablogs.metrics.RequestMetricsInterceptor;
+import com.example.javablogs.metrics.SqlStatementCounter;
+import com.example.javablogs.pagecache.PageCache;
+import com.example.javablogs.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestMetricsInterceptor(meterRegistry));
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounterCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+    
+    // spring.data.repository.invocations gets the controller method that triggered the query
+    @Bean
+    public RepositoryTagsProvider repositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+                .and(RequestMetrics.ENDPOINT_TAG, RequestMetrics.currentEndpoint());
+    }
+    
+    // The Spring caches are bound by Spring Boot; these two are plain Caffeine caches
+    @Bean
+    public MeterBinder applicationCacheMetrics(CustomUserDetailsService userDetailsService,
+                                               ObjectProvider<PageCache> pageCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, userDetailsService.getCache(), "users");
+            pageCache.ifAvailable(cache -> CaffeineCacheMetrics.monitor(registry, cache.getPages(), "pages"));
+        };
+    }
+}
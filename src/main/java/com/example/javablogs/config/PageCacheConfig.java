@@ -0,0 +1,26 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.pagecache.PageCache;
+import com.example.javablogs.pagecache.PageCacheFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.page-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PageCacheConfig {
+    
+    // Runs right after Spring Security so anonymous visitors can be told apart from logged-in users
+    @Bean
+    public FilterRegistrationBean<PageCacheFilter> pageCacheFilter(PageCache pageCache,
+                                                                   @Value("${app.blog.max-page-size:50}") int maxPageSize) {
+        FilterRegistrationBean<PageCacheFilter> registration =
+                new FilterRegistrationBean<>(new PageCacheFilter(pageCache, maxPageSize));
+        registration.addUrlPatterns("/blog", "/blog/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.javablogs.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Streams JFR jdk.VirtualThreadPinned events and logs where a virtual thread blocked while pinned
+// to its carrier (typically inside a synchronized block of a JDBC driver or pool).
+public class PinnedThreadMonitor implements InitializingBean, DisposableBean {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    
+    private static final int LOGGED_FRAMES = 8;
+    
+    private final Duration threshold;
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private RecordingStream stream;
+    
+    public PinnedThreadMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+    
+    @Override
+    public void afterPropertiesSet() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+    
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+    
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+    
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        String frames = event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(PinnedThreadMonitor::describe)
+                .collect(Collectors.joining("\n\tat "));
+        logger.warn("Virtual thread pinned for {} ms\n\tat {}", event.getDuration().toMillis(), frames);
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
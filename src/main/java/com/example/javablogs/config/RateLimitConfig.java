@@ -0,0 +1,70 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.ratelimit.AdaptiveConcurrencyLimit;
+import com.example.javablogs.ratelimit.ClientRateLimiter;
+import com.example.javablogs.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "app.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+    
+    @Value("${app.rate-limit.requests-per-second:10}")
+    private double requestsPerSecond;
+    
+    @Value("${app.rate-limit.burst:40}")
+    private int burst;
+    
+    @Value("${app.rate-limit.login-attempts-per-minute:10}")
+    private double loginAttemptsPerMinute;
+    
+    @Value("${app.rate-limit.login-burst:5}")
+    private int loginBurst;
+    
+    @Value("${app.rate-limit.max-clients:100000}")
+    private long maxClients;
+    
+    @Value("${app.concurrency.initial-limit:20}")
+    private int initialLimit;
+    
+    @Value("${app.concurrency.min-limit:4}")
+    private int minLimit;
+    
+    @Value("${app.concurrency.max-limit:200}")
+    private int maxLimit;
+    
+    @Value("${app.concurrency.latency-target:PT0.5S}")
+    private Duration latencyTarget;
+    
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(MeterRegistry registry) {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit, latencyTarget);
+        Gauge.builder("app.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit).register(registry);
+        Gauge.builder("app.concurrency.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight).register(registry);
+        return limit;
+    }
+    
+    // Ahead of Spring Security, the view counter and the page cache so rejected requests cost next to nothing
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(AdaptiveConcurrencyLimit concurrencyLimit, MeterRegistry registry) {
+        ClientRateLimiter requestLimiter = new ClientRateLimiter(
+                Duration.ofNanos((long) (1_000_000_000L / requestsPerSecond)), burst, maxClients);
+        ClientRateLimiter loginLimiter = new ClientRateLimiter(
+                Duration.ofNanos((long) (60_000_000_000L / loginAttemptsPerMinute)), loginBurst, maxClients);
+        
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(requestLimiter, loginLimiter, concurrencyLimit, registry));
+        registration.addUrlPatterns("/blog", "/blog/*", "/login");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 2);
+        return registration;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.javablogs.config;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Opens the read-your-writes window when Hibernate inserts, updates or deletes an entity.
+// Inside a transaction the window starts at the commit, which is when the replica starts to lag behind.
+public class ReadYourWritesInterceptor implements Interceptor {
+    
+    private final ReadYourWritesWindow readYourWrites;
+    
+    public ReadYourWritesInterceptor(ReadYourWritesWindow readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+    
+    @Override
+    public boolean onSave(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        written();
+        return false;
+    }
+    
+    @Override
+    public boolean onFlushDirty(Object entity, Object id, Object[] currentState, Object[] previousState,
+                                String[] propertyNames, Type[] types) {
+        written();
+        return false;
+    }
+    
+    @Override
+    public void onDelete(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        written();
+    }
+    
+    private void written() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            readYourWrites.recordWrite();
+            return;
+        }
+        // One synchronization per transaction, however many entities it writes
+        if (!TransactionSynchronizationManager.hasResource(this)) {
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesInterceptor.this);
+                    if (status == STATUS_COMMITTED) {
+                        readYourWrites.recordWrite();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.javablogs.config;
+
+import java.time.Duration;
+
+// Remembers when the application last wrote. Read-only transactions stay on the primary until the window
+// has passed, so neither the writer nor the cache reloads and page re-renders triggered by the write
+// read rows the replica hasn't caught up with yet.
+public class ReadYourWritesWindow {
+    
+    private final long windowNanos;
+    private volatile long lastWrite;
+    
+    public ReadYourWritesWindow(Duration window) {
+        this.windowNanos = window.toNanos();
+        this.lastWrite = System.nanoTime() - windowNanos;
+    }
+    
+    public void recordWrite() {
+        lastWrite = System.nanoTime();
+    }
+    
+    public boolean isOpen() {
+        return System.nanoTime() - lastWrite < windowNanos;
+    }
+}
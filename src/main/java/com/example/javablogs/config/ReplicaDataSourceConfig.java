@@ -0,0 +1,99 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Active when app.datasource.replica.url is set. spring.datasource.* configures the primary pool and
+// app.datasource.replica.* a second pool for the replica; read-only transactions go to the replica.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.url")
+public class ReplicaDataSourceConfig {
+    
+    // Should be longer than the replication lag we expect to see
+    @Value("${app.datasource.read-your-writes-window:PT5S}")
+    private Duration readYourWritesWindow;
+    
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+    
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource dataSource = primaryDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+    
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+    
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = replicaDataSourceProperties().initializeDataSourceBuilder()
+                .type(HikariDataSource.class).build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+    
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow() {
+        return new ReadYourWritesWindow(readYourWritesWindow);
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, readYourWritesWindow());
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+    
+    // The import writes its batches with JdbcTemplate, so ReadYourWritesInterceptor doesn't see them.
+    // Runs before the other listeners, which reload caches and counters from the new rows.
+    @EventListener(BlogPostsImportedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onBlogPostsImported() {
+        readYourWritesWindow().recordWrite();
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer readYourWritesInterceptor() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new ReadYourWritesInterceptor(readYourWritesWindow()));
+    }
+    
+    // With open-in-view the session would otherwise hold on to the first connection it got for the
+    // whole request, so a write after a read-only call would land on the replica connection
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
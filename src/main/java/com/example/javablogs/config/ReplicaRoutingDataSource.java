@@ -0,0 +1,51 @@
+package com.example.javablogs.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Sends connections for read-only transactions to the replica and everything else to the primary.
+// The transaction's read-only flag is only known once it has started, so this must sit behind a
+// LazyConnectionDataSourceProxy that defers the lookup until the first statement.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public enum Target { PRIMARY, REPLICA }
+    
+    private static final ThreadLocal<Boolean> PRIMARY_HINT = new ThreadLocal<>();
+    
+    private final ReadYourWritesWindow readYourWrites;
+    
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesWindow readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+    
+    // Read-only transactions started inside the action go to the primary. For reads that must not see
+    // replication lag but don't write, so they don't open the read-your-writes window for everybody else.
+    // Without a replica configured this just runs the action.
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_HINT.get();
+        PRIMARY_HINT.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_HINT.remove();
+            }
+        }
+    }
+    
+    // Writes are recorded by ReadYourWritesInterceptor when Hibernate actually writes, not here:
+    // plenty of read-write transactions never write anything
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_HINT.get() != null) {
+            return Target.PRIMARY;
+        }
+        return readYourWrites.isOpen() ? Target.PRIMARY : Target.REPLICA;
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.javablogs.config;
 
+import com.example.javablogs.metrics.TimedAuthenticationProvider;
 import com.example.javablogs.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -13,6 +17,11 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
@@ -20,6 +29,22 @@ public class SecurityConfig {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    // BCrypt cost factor; existing hashes with a lower cost are re-hashed on the next successful login
+    @Value("${app.security.bcrypt-strength:10}")
+    private int bcryptStrength;
+    
+    @Value("${app.security.hashing.threads:0}")
+    private int hashingThreads;
+    
+    @Value("${app.security.hashing.queue-capacity:200}")
+    private int hashingQueueCapacity;
+    
+    @Value("${app.security.hashing.timeout-ms:5000}")
+    private long hashingTimeoutMillis;
+    
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -42,7 +67,7 @@ public class SecurityConfig {
                 .permitAll()
             )
             .csrf(csrf -> csrf.disable())
-            .authenticationProvider(authenticationProvider());
+            .authenticationProvider(new TimedAuthenticationProvider(authenticationProvider(), meterRegistry));
         
         return http.build();
     }
@@ -52,6 +77,7 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
     
@@ -62,6 +88,17 @@ public class SecurityConfig {
     
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength),
+                passwordHashingExecutor(), hashingTimeoutMillis);
+    }
+    
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService passwordHashingExecutor() {
+        // Default to half the cores so hashing never starves request handling
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(hashingQueueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
     }
 }
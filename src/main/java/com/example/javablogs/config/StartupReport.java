@@ -0,0 +1,96 @@
+package com.example.javablogs.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Logs how long the application took to become ready, whether AOT, CDS and lazy initialization were
+// in effect, and the slowest startup steps. With app.startup.report-file set the same numbers are
+// written there as JSON, so runs with and without the fast-start profile can be compared.
+@Component
+public class StartupReport {
+    
+    private static final Logger logger = LoggerFactory.getLogger(StartupReport.class);
+    
+    private static final int SLOWEST_STEPS = 10;
+    
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+    
+    @Autowired
+    private Environment environment;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${app.startup.report-file:}")
+    private String reportFile;
+    
+    @EventListener
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        List<Map<String, Object>> steps = slowestSteps();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("jvmToReadyMillis", runtime.getUptime());
+        report.put("springToReadyMillis", event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : null);
+        report.put("aot", AotDetector.useGeneratedArtifacts());
+        report.put("cds", runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile")));
+        report.put("lazyInitialization", environment.getProperty("spring.main.lazy-initialization", Boolean.class, false));
+        report.put("beanCount", applicationContext.getBeanDefinitionCount());
+        report.put("slowestSteps", steps);
+        
+        logger.info("Startup: ready {} ms after JVM start ({} ms in Spring), aot={}, cds={}, lazy={}",
+                report.get("jvmToReadyMillis"), report.get("springToReadyMillis"),
+                report.get("aot"), report.get("cds"), report.get("lazyInitialization"));
+        for (Map<String, Object> step : steps) {
+            logger.info("Startup step: {}", step);
+        }
+        
+        if (!reportFile.isEmpty()) {
+            try {
+                objectMapper.writerWithDefaultPrettyPrinter().writeValue(new File(reportFile), report);
+            } catch (IOException e) {
+                logger.warn("Could not write startup report to {}: {}", reportFile, e.getMessage());
+            }
+        }
+    }
+    
+    // Step durations nest (a bean's time includes its dependencies), so these overlap
+    private List<Map<String, Object>> slowestSteps() {
+        if (!(applicationContext.getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+            return List.of();
+        }
+        return startup.getBufferedTimeline().getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(SLOWEST_STEPS)
+                .map(StartupReport::describe)
+                .toList();
+    }
+    
+    private static Map<String, Object> describe(StartupTimeline.TimelineEvent event) {
+        Map<String, Object> step = new LinkedHashMap<>();
+        step.put("name", event.getStartupStep().getName());
+        event.getStartupStep().getTags().forEach(tag -> step.put(tag.getKey(), tag.getValue()));
+        step.put("millis", event.getDuration().toMillis());
+        return step;
+    }
+}
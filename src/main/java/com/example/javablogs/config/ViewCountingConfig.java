@@ -0,0 +1,21 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.service.ViewCounterService;
+import com.example.javablogs.views.ViewCountingFilter;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ViewCountingConfig {
+    
+    // Runs ahead of Spring Security and the page cache so every served post page is counted
+    @Bean
+    public FilterRegistrationBean<ViewCountingFilter> viewCountingFilter(ViewCounterService viewCounterService) {
+        FilterRegistrationBean<ViewCountingFilter> registration = new FilterRegistrationBean<>(new ViewCountingFilter(viewCounterService));
+        registration.addUrlPatterns("/blog/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
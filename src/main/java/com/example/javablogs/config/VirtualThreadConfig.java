@@ -0,0 +1,44 @@
+package com.example.javablogs.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+// Active only when Spring Boot runs Tomcat, @Async and @Scheduled work on virtual threads
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        Integer configuredLimit = environment.getProperty("app.db.concurrency-limit", Integer.class);
+        
+        // Each pool is limited on its own, so with a replica configured both pools get a semaphore
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource pool) {
+                    int limit = configuredLimit != null ? configuredLimit : pool.getMaximumPoolSize();
+                    logger.info("Limiting concurrent use of data source '{}' to {} threads", beanName, limit);
+                    return new ConcurrencyLimitedDataSource(pool, limit, pool.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(Environment environment) {
+        return new PinnedThreadMonitor(environment.getProperty("app.vthreads.pinned-threshold",
+                Duration.class, Duration.ofMillis(20)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.javablogs.config;
+
+import com.example.javablogs.html.HtmlMinifyingDialect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+
+// Static assets are served from content-hashed URLs (/css/home-<md5>.css). Thymeleaf @{...} links are
+// rewritten to those URLs by ResourceUrlEncodingFilter, so the files can be cached as immutable.
+// Precompressed .br/.gz variants next to an asset are served to clients that accept them.
+@Configuration
+public class WebResourceConfig implements WebMvcConfigurer {
+    
+    @Value("${app.static.cache-period:365d}")
+    private Duration cachePeriod;
+    
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        CacheControl cacheControl = CacheControl.maxAge(cachePeriod).cachePublic().immutable();
+        addVersionedHandler(registry, "/css/**", "classpath:/static/css/", cacheControl);
+        addVersionedHandler(registry, "/js/**", "classpath:/static/js/", cacheControl);
+    }
+    
+    private static void addVersionedHandler(ResourceHandlerRegistry registry, String pattern, String location,
+                                            CacheControl cacheControl) {
+        registry.addResourceHandler(pattern)
+                .addResourceLocations(location)
+                .setCacheControl(cacheControl)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+    
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        FilterRegistrationBean<ResourceUrlEncodingFilter> registration = new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+        registration.addUrlPatterns("/*");
+        return registration;
+    }
+    
+    @Bean
+    @ConditionalOnProperty(name = "app.html.minify", havingValue = "true", matchIfMissing = true)
+    public HtmlMinifyingDialect htmlMinifyingDialect() {
+        return new HtmlMinifyingDialect();
+    }
+}
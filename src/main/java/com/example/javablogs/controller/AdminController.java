@@ -1,8 +1,15 @@
 package com.example.javablogs.controller;
 
+import com.example.javablogs.dto.AdminPostFilter;
+import com.example.javablogs.dto.AdminUserFilter;
+import com.example.javablogs.dto.DashboardStats;
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.dto.UserSummary;
 import com.example.javablogs.entity.BlogPost;
 import com.example.javablogs.entity.User;
+import com.example.javablogs.pagination.CursorPage;
 import com.example.javablogs.service.BlogPostService;
+import com.example.javablogs.service.DashboardStatsService;
 import com.example.javablogs.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -12,8 +19,6 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.List;
-
 @Controller
 @RequestMapping("/admin")
 public class AdminController {
@@ -24,24 +29,29 @@ public class AdminController {
     @Autowired
     private BlogPostService blogPostService;
     
+    @Autowired
+    private DashboardStatsService dashboardStatsService;
+    
     @GetMapping("/dashboard")
     public String adminDashboard(Model model) {
-        List<User> users = userService.getAllUsers();
-        List<BlogPost> blogPosts = blogPostService.getAllBlogPosts();
+        DashboardStats stats = dashboardStatsService.getStats();
         
-        model.addAttribute("users", users);
-        model.addAttribute("blogPosts", blogPosts);
-        model.addAttribute("totalUsers", users.size());
-        model.addAttribute("totalPosts", blogPosts.size());
+        model.addAttribute("users", stats.getRecentUsers());
+        model.addAttribute("blogPosts", stats.getRecentPosts());
+        model.addAttribute("totalUsers", stats.getTotalUsers());
+        model.addAttribute("totalPosts", stats.getTotalPosts());
+        model.addAttribute("publishedPosts", stats.getPublishedPosts());
+        model.addAttribute("draftPosts", stats.getDraftPosts());
         
         return "admin/dashboard";
     }
     
     // User Management
     @GetMapping("/users")
-    public String userList(Model model) {
-        List<User> users = userService.getAllUsers();
-        model.addAttribute("users", users);
+    public String userList(@ModelAttribute("filter") AdminUserFilter filter, Model model) {
+        CursorPage<UserSummary> users = userService.getAdminUsers(filter);
+        model.addAttribute("users", users.getContent());
+        model.addAttribute("nextCursor", users.getNextCursor());
         return "admin/users";
     }
     
@@ -94,9 +104,10 @@ public class AdminController {
     
     // Blog Post Management
     @GetMapping("/posts")
-    public String postList(Model model) {
-        List<BlogPost> blogPosts = blogPostService.getAllBlogPosts();
-        model.addAttribute("blogPosts", blogPosts);
+    public String postList(@ModelAttribute("filter") AdminPostFilter filter, Model model) {
+        CursorPage<PostSummary> blogPosts = blogPostService.getAdminPosts(filter);
+        model.addAttribute("blogPosts", blogPosts.getContent());
+        model.addAttribute("nextCursor", blogPosts.getNextCursor());
         return "admin/posts";
     }
     
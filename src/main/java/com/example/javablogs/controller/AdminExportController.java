@@ -0,0 +1,56 @@
+package com.example.javablogs.controller;
+
+import com.example.javablogs.export.ExportFormat;
+import com.example.javablogs.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+
+// Full-table exports, e.g. /admin/export/posts.csv or /admin/export/users.ndjson.
+// The body is written on an async thread, so the request thread is released right away.
+@RestController
+@RequestMapping("/admin/export")
+public class AdminExportController {
+    
+    @Autowired
+    private ExportService exportService;
+    
+    @GetMapping("/posts.{format}")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@PathVariable String format) {
+        ExportFormat exportFormat = formatOf(format);
+        return attachment("posts", exportFormat, out -> exportService.exportPosts(exportFormat, out));
+    }
+    
+    @GetMapping("/users.{format}")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@PathVariable String format) {
+        ExportFormat exportFormat = formatOf(format);
+        return attachment("users", exportFormat, out -> exportService.exportUsers(exportFormat, out));
+    }
+    
+    private static ExportFormat formatOf(String extension) {
+        try {
+            return ExportFormat.fromExtension(extension);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+    
+    private ResponseEntity<StreamingResponseBody> attachment(String name, ExportFormat format, StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.javablogs.controller;
+
+import com.example.javablogs.service.ImportJob;
+import com.example.javablogs.service.PostImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+@Controller
+@RequestMapping("/admin/import")
+public class AdminImportController {
+    
+    @Autowired
+    private PostImportService postImportService;
+    
+    @GetMapping
+    public String importPage(Model model) {
+        model.addAttribute("jobs", postImportService.getRecentJobs());
+        return "admin/import";
+    }
+    
+    @PostMapping
+    public String startImport(@RequestParam("file") MultipartFile file, RedirectAttributes redirectAttributes) {
+        if (file.isEmpty()) {
+            redirectAttributes.addFlashAttribute("error", "Please choose an NDJSON file to import");
+            return "redirect:/admin/import";
+        }
+        try {
+            ImportJob job = postImportService.startImport(file);
+            redirectAttributes.addFlashAttribute("success", "Import of " + job.getFilename() + " started");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Error starting import: " + e.getMessage());
+        }
+        return "redirect:/admin/import";
+    }
+    
+    // Polled by the import page while a job is running
+    @GetMapping("/{id}")
+    @ResponseBody
+    public ResponseEntity<ImportJob> importProgress(@PathVariable String id) {
+        return ResponseEntity.of(postImportService.getJob(id));
+    }
+}
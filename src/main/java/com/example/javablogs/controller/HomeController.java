@@ -1,13 +1,33 @@
 package com.example.javablogs.controller;
 
+import com.example.javablogs.dto.PostSummary;
 import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.pagination.CursorPage;
+import com.example.javablogs.search.SuggestionTrie.Suggestion;
 import com.example.javablogs.service.BlogPostService;
+import com.example.javablogs.service.ContentVersionService;
+import com.example.javablogs.service.PostSuggestionService;
+import com.example.javablogs.service.RelatedPostsService;
+import com.example.javablogs.service.ViewCounterService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 
 @Controller
 public class HomeController {
@@ -15,44 +35,113 @@ public class HomeController {
     @Autowired
     private BlogPostService blogPostService;
     
+    @Autowired
+    private ContentVersionService contentVersionService;
+    
+    @Autowired
+    private ViewCounterService viewCounterService;
+    
+    @Autowired
+    private PostSuggestionService postSuggestionService;
+    
+    @Autowired
+    private RelatedPostsService relatedPostsService;
+    
+    @Value("${app.blog.max-page-size:50}")
+    private int maxPageSize;
+    
     @GetMapping("/")
     public String home(Model model) {
+        model.addAttribute("trendingPosts", viewCounterService.getTrendingPosts());
         return "home";
     }
     
     @GetMapping("/home")
     public String homePage(Model model) {
+        model.addAttribute("trendingPosts", viewCounterService.getTrendingPosts());
         return "home";
     }
     
     @GetMapping("/blog")
-    public String blogList(@RequestParam(defaultValue = "0") int page,
+    public String blogList(@RequestParam(required = false) Integer page,
                           @RequestParam(defaultValue = "10") int size,
+                          @RequestParam(required = false) String cursor,
                           @RequestParam(required = false) String search,
+                          WebRequest webRequest,
+                          HttpServletResponse response,
                           Model model) {
         
-        Page<BlogPost> blogPosts;
-        if (search != null && !search.trim().isEmpty()) {
-            blogPosts = blogPostService.searchPublishedPosts(search, page, size);
+        // Answer revalidations before running any query or rendering the template
+        revalidateEveryRequest(response);
+        if (webRequest.checkNotModified(contentVersionService.listingETag(), contentVersionService.listingLastModified())) {
+            return null;
+        }
+        
+        // Unbounded sizes would let a single request hold a connection for a huge result
+        size = Math.min(Math.max(size, 1), maxPageSize);
+        // Pagination links carry the size over to the next page
+        model.addAttribute("size", size);
+        
+        boolean searching = search != null && !search.trim().isEmpty();
+        if (!searching && page == null) {
+            // Default listing uses keyset pagination: no count query and constant cost at any depth
+            CursorPage<PostSummary> blogPosts = blogPostService.getPublishedBlogPosts(cursor, size);
+            model.addAttribute("blogPosts", blogPosts.getContent());
+            model.addAttribute("nextCursor", blogPosts.getNextCursor());
+            model.addAttribute("cursor", cursor);
+            return "blog/list";
+        }
+        
+        // Offset pagination is kept for search results and for old ?page= links
+        int currentPage = page != null ? Math.max(page, 0) : 0;
+        Page<PostSummary> blogPosts;
+        if (searching) {
+            blogPosts = blogPostService.searchPublishedPosts(search, currentPage, size);
             model.addAttribute("search", search);
         } else {
-            blogPosts = blogPostService.getPublishedBlogPosts(page, size);
+            blogPosts = blogPostService.getPublishedBlogPosts(currentPage, size);
         }
         
-        model.addAttribute("blogPosts", blogPosts);
-        model.addAttribute("currentPage", page);
+        model.addAttribute("blogPosts", blogPosts.getContent());
+        model.addAttribute("currentPage", currentPage);
         model.addAttribute("totalPages", blogPosts.getTotalPages());
         model.addAttribute("totalItems", blogPosts.getTotalElements());
         
         return "blog/list";
     }
     
+    // Typeahead for the search box; answered from memory, so browsers may reuse answers briefly
+    @GetMapping("/blog/suggest")
+    @ResponseBody
+    public ResponseEntity<List<Suggestion>> suggest(@RequestParam(defaultValue = "") String q,
+                                                    @RequestParam(defaultValue = "8") int limit) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(60)).cachePublic())
+                .body(postSuggestionService.suggest(q, limit));
+    }
+    
     @GetMapping("/blog/{id}")
-    public String blogDetail(@RequestParam Long id, Model model) {
-        BlogPost blogPost = blogPostService.getBlogPostById(id)
+    public String blogDetail(@PathVariable Long id, WebRequest webRequest, HttpServletResponse response, Model model) {
+        Optional<LocalDateTime> updatedAt = blogPostService.getLastModified(id);
+        if (updatedAt.isPresent()) {
+            revalidateEveryRequest(response);
+            if (webRequest.checkNotModified(contentVersionService.postETag(id, updatedAt.get()),
+                    contentVersionService.postLastModified(updatedAt.get()))) {
+                return null;
+            }
+        }
+        
+        BlogPost blogPost = blogPostService.getBlogPostWithAuthor(id)
                 .orElseThrow(() -> new RuntimeException("Blog post not found"));
         
         model.addAttribute("blogPost", blogPost);
+        model.addAttribute("relatedPosts", relatedPostsService.getRelatedPosts(id));
         return "blog/detail";
     }
+    
+    // Caches may store the page but must revalidate it. Setting the header here also stops
+    // Spring Security from adding its default no-store, which would disable revalidation.
+    private void revalidateEveryRequest(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.javablogs.dto;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Query parameters of the admin post table
+public class AdminPostFilter {
+    
+    public enum Sort {
+        NEWEST,
+        OLDEST,
+        TITLE
+    }
+    
+    private String author;
+    private Boolean published;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    
+    private Sort sort = Sort.NEWEST;
+    private int size = 20;
+    private String cursor;
+    
+    public String getAuthor() {
+        return author;
+    }
+    
+    public void setAuthor(String author) {
+        this.author = author != null && !author.isBlank() ? author.trim() : null;
+    }
+    
+    public Boolean getPublished() {
+        return published;
+    }
+    
+    public void setPublished(Boolean published) {
+        this.published = published;
+    }
+    
+    public LocalDate getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+    
+    public LocalDate getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+    
+    public Sort getSort() {
+        return sort;
+    }
+    
+    public void setSort(Sort sort) {
+        this.sort = sort != null ? sort : Sort.NEWEST;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.javablogs.dto;
+
+import com.example.javablogs.entity.Role;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+// Query parameters of the admin user table
+public class AdminUserFilter {
+    
+    public enum Sort {
+        NEWEST,
+        OLDEST,
+        USERNAME
+    }
+    
+    private Role role;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate from;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate to;
+    
+    private Sort sort = Sort.NEWEST;
+    private int size = 20;
+    private String cursor;
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public void setRole(Role role) {
+        this.role = role;
+    }
+    
+    public LocalDate getFrom() {
+        return from;
+    }
+    
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+    
+    public LocalDate getTo() {
+        return to;
+    }
+    
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+    
+    public Sort getSort() {
+        return sort;
+    }
+    
+    public void setSort(Sort sort) {
+        this.sort = sort != null ? sort : Sort.NEWEST;
+    }
+    
+    public int getSize() {
+        return size;
+    }
+    
+    public void setSize(int size) {
+        this.size = size;
+    }
+    
+    public String getCursor() {
+        return cursor;
+    }
+    
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.javablogs.dto;
+
+import java.util.List;
+
+public class DashboardStats {
+    
+    private final long totalUsers;
+    private final long totalPosts;
+    private final long publishedPosts;
+    private final List<UserSummary> recentUsers;
+    private final List<PostSummary> recentPosts;
+    
+    public DashboardStats(long totalUsers, long totalPosts, long publishedPosts,
+                          List<UserSummary> recentUsers, List<PostSummary> recentPosts) {
+        this.totalUsers = totalUsers;
+        this.totalPosts = totalPosts;
+        this.publishedPosts = publishedPosts;
+        this.recentUsers = recentUsers;
+        this.recentPosts = recentPosts;
+    }
+    
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+    
+    public long getTotalPosts() {
+        return totalPosts;
+    }
+    
+    public long getPublishedPosts() {
+        return publishedPosts;
+    }
+    
+    public long getDraftPosts() {
+        return totalPosts - publishedPosts;
+    }
+    
+    public List<UserSummary> getRecentUsers() {
+        return recentUsers;
+    }
+    
+    public List<PostSummary> getRecentPosts() {
+        return recentPosts;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.javablogs.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+// One line of a bulk import file, e.g.
+// {"title": "...", "content": "...", "author": "jdoe", "published": true, "createdAt": "2019-04-01T10:15:00"}
+// The title and content rules are the same as on BlogPost.
+public class PostImportRecord {
+    
+    @NotBlank(message = "Title is required")
+    @Size(min = 5, max = 200, message = "Title must be between 5 and 200 characters")
+    private String title;
+    
+    @NotBlank(message = "Content is required")
+    @Size(min = 10, message = "Content must be at least 10 characters")
+    private String content;
+    
+    @NotBlank(message = "Author is required")
+    private String author;
+    
+    private boolean published = true;
+    
+    // Keeps the original publication date of migrated posts; defaults to the import time
+    private LocalDateTime createdAt;
+    
+    private long line;
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public void setTitle(String title) {
+        this.title = title;
+    }
+    
+    public String getContent() {
+        return content;
+    }
+    
+    public void setContent(String content) {
+        this.content = content;
+    }
+    
+    public String getAuthor() {
+        return author;
+    }
+    
+    public void setAuthor(String author) {
+        this.author = author;
+    }
+    
+    public boolean isPublished() {
+        return published;
+    }
+    
+    public void setPublished(boolean published) {
+        this.published = published;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    // Set by the importer for error messages, never read from the file
+    @JsonIgnore
+    public long getLine() {
+        return line;
+    }
+    
+    public void setLine(long line) {
+        this.line = line;
+    }
+}
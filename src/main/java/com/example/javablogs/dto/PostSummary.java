@@ -0,0 +1,83 @@
+package com.example.javablogs.dto;
+
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.entity.User;
+
+import java.time.LocalDateTime;
+
+// Read-only view of a post for listing pages. Built directly by JPQL constructor expressions
+// so the author is joined in the same statement and the content column is never selected.
+public class PostSummary {
+    
+    private final Long id;
+    private final String title;
+    private final String excerpt;
+    private final String authorFullName;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final boolean published;
+    private final int readingMinutes;
+    
+    public PostSummary(Long id, String title, String excerpt,
+                       String authorFirstName, String authorLastName, String authorUsername,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, boolean published, Integer readingMinutes) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.authorFullName = User.fullNameOf(authorFirstName, authorLastName, authorUsername);
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.published = published;
+        this.readingMinutes = readingMinutes != null ? readingMinutes : 1;
+    }
+    
+    private PostSummary(Long id, String title, String excerpt, String authorFullName,
+                        LocalDateTime createdAt, LocalDateTime updatedAt, boolean published, int readingMinutes) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.authorFullName = authorFullName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.published = published;
+        this.readingMinutes = readingMinutes;
+    }
+    
+    // The author name is passed in so callers can avoid touching a lazy author association
+    public static PostSummary of(BlogPost post, String authorFullName) {
+        return new PostSummary(post.getId(), post.getTitle(), post.getExcerpt(), authorFullName,
+                post.getCreatedAt(), post.getUpdatedAt(), post.isPublished(), post.getReadingMinutes());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+    
+    public String getExcerpt() {
+        return excerpt;
+    }
+    
+    public String getAuthorFullName() {
+        return authorFullName;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public boolean isPublished() {
+        return published;
+    }
+    
+    public int getReadingMinutes() {
+        return readingMinutes;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.javablogs.dto;
+
+// Link to a related post on the detail page; only what the link needs, kept in memory by RelatedPostsService
+public class RelatedPost {
+    
+    private final Long id;
+    private final String title;
+    
+    public RelatedPost(Long id, String title) {
+        this.id = id;
+        this.title = title;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getTitle() {
+        return title;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.javablogs.dto;
+
+import com.example.javablogs.entity.Role;
+import com.example.javablogs.entity.User;
+
+import java.time.LocalDateTime;
+
+public class UserSummary {
+    
+    private final Long id;
+    private final String username;
+    private final String email;
+    private final String fullName;
+    private final Role role;
+    private final LocalDateTime createdAt;
+    
+    public UserSummary(Long id, String username, String email, String firstName, String lastName,
+                       Role role, LocalDateTime createdAt) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.fullName = User.fullNameOf(firstName, lastName, username);
+        this.role = role;
+        this.createdAt = createdAt;
+    }
+    
+    public static UserSummary of(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getEmail(), user.getFirstName(),
+                user.getLastName(), user.getRole(), user.getCreatedAt());
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getUsername() {
+        return username;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public String getFullName() {
+        return fullName;
+    }
+    
+    public Role getRole() {
+        return role;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
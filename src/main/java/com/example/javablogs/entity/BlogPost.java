@@ -1,14 +1,24 @@
 package com.example.javablogs.entity;
 
+import com.example.javablogs.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "blog_posts")
+@Table(name = "blog_posts", indexes = {
+    @Index(name = "idx_blog_posts_published_created", columnList = "is_published, created_at, id"),
+    @Index(name = "idx_blog_posts_author_created", columnList = "author_id, created_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.BLOG_POSTS)
 public class BlogPost {
     
+    public static final int EXCERPT_LENGTH = 150;
+    public static final int WORDS_PER_MINUTE = 200;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -23,6 +33,16 @@ public class BlogPost {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String content;
     
+    // Derived from content on every write so listings never have to read the content column
+    @Column(length = EXCERPT_LENGTH + 3)
+    private String excerpt;
+    
+    @Column(name = "word_count")
+    private Integer wordCount;
+    
+    @Column(name = "reading_minutes")
+    private Integer readingMinutes;
+    
     @Column(name = "created_at")
     private LocalDateTime createdAt;
     
@@ -40,11 +60,19 @@ public class BlogPost {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        updateDerivedFields();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        updateDerivedFields();
+    }
+    
+    private void updateDerivedFields() {
+        excerpt = excerptOf(content);
+        wordCount = wordCountOf(content);
+        readingMinutes = readingMinutesOf(wordCount);
     }
     
     // Constructors
@@ -113,10 +141,43 @@ public class BlogPost {
         this.published = published;
     }
     
+    // Falls back to the content for posts that have not been saved yet
     public String getExcerpt() {
-        if (content != null && content.length() > 150) {
-            return content.substring(0, 150) + "...";
+        return excerpt != null ? excerpt : excerptOf(content);
+    }
+    
+    public int getWordCount() {
+        return wordCount != null ? wordCount : wordCountOf(content);
+    }
+    
+    public int getReadingMinutes() {
+        return readingMinutes != null ? readingMinutes : readingMinutesOf(getWordCount());
+    }
+    
+    public static String excerptOf(String content) {
+        if (content != null && content.length() > EXCERPT_LENGTH) {
+            return content.substring(0, EXCERPT_LENGTH) + "...";
         }
         return content;
     }
+    
+    public static int wordCountOf(String content) {
+        if (content == null) {
+            return 0;
+        }
+        int count = 0;
+        boolean inWord = false;
+        for (int i = 0; i < content.length(); i++) {
+            boolean whitespace = Character.isWhitespace(content.charAt(i));
+            if (!whitespace && !inWord) {
+                count++;
+            }
+            inWord = !whitespace;
+        }
+        return count;
+    }
+    
+    public static int readingMinutesOf(int wordCount) {
+        return Math.max(1, (wordCount + WORDS_PER_MINUTE - 1) / WORDS_PER_MINUTE);
+    }
 }
@@ -0,0 +1,34 @@
+package com.example.javablogs.entity;
+
+import jakarta.persistence.*;
+
+// Persisted view total per post. Written only by ViewCounterService's batched upserts.
+@Entity
+@Table(name = "post_views")
+public class PostViewCount {
+    
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+    
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+    
+    public PostViewCount() {}
+    
+    public Long getPostId() {
+        return postId;
+    }
+    
+    public void setPostId(Long postId) {
+        this.postId = postId;
+    }
+    
+    public long getViewCount() {
+        return viewCount;
+    }
+    
+    public void setViewCount(long viewCount) {
+        this.viewCount = viewCount;
+    }
+}
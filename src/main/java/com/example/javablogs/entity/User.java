@@ -1,14 +1,24 @@
 package com.example.javablogs.entity;
 
+import com.example.javablogs.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    @Index(name = "idx_users_created", columnList = "created_at, id"),
+    @Index(name = "idx_users_role_created", columnList = "role, created_at, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.USERS)
+@NaturalIdCache(region = HibernateCacheConfig.USERS_BY_USERNAME)
 public class User {
     
     @Id
@@ -17,6 +27,8 @@ public class User {
     
     @NotBlank(message = "Username is required")
     @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+    // Usernames can be changed by an admin, so the natural id is mutable
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String username;
     
@@ -150,6 +162,10 @@ public class User {
     }
     
     public String getFullName() {
+        return fullNameOf(firstName, lastName, username);
+    }
+    
+    public static String fullNameOf(String firstName, String lastName, String username) {
         if (firstName != null && lastName != null) {
             return firstName + " " + lastName;
         } else if (firstName != null) {
@@ -0,0 +1,25 @@
+package com.example.javablogs.event;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Change events drive cache eviction, so inside a transaction they are held back until it commits.
+// Otherwise a concurrent reader could load the old row again right after the eviction.
+public final class AfterCommit {
+    
+    private AfterCommit() {}
+    
+    public static void publish(ApplicationEventPublisher publisher, Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publisher.publishEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publisher.publishEvent(event);
+            }
+        });
+    }
+}
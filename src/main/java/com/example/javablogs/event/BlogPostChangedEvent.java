@@ -0,0 +1,62 @@
+package com.example.javablogs.event;
+
+import com.example.javablogs.entity.BlogPost;
+
+// Published by BlogPostService after a post has been written to the database.
+// Caches, the search index and other derived read models listen to it instead of being called directly.
+public class BlogPostChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private final Type type;
+    private final BlogPost blogPost;
+    private final boolean previouslyPublished;
+    
+    public BlogPostChangedEvent(Type type, BlogPost blogPost, boolean previouslyPublished) {
+        this.type = type;
+        this.blogPost = blogPost;
+        this.previouslyPublished = previouslyPublished;
+    }
+    
+    public static BlogPostChangedEvent created(BlogPost blogPost) {
+        return new BlogPostChangedEvent(Type.CREATED, blogPost, false);
+    }
+    
+    public static BlogPostChangedEvent updated(BlogPost blogPost, boolean previouslyPublished) {
+        return new BlogPostChangedEvent(Type.UPDATED, blogPost, previouslyPublished);
+    }
+    
+    public static BlogPostChangedEvent deleted(BlogPost blogPost) {
+        return new BlogPostChangedEvent(Type.DELETED, blogPost, blogPost.isPublished());
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public BlogPost getBlogPost() {
+        return blogPost;
+    }
+    
+    public Long getPostId() {
+        return blogPost.getId();
+    }
+    
+    public boolean isPreviouslyPublished() {
+        return previouslyPublished;
+    }
+    
+    // Whether the post is visible on the public site after this change
+    public boolean isPublished() {
+        return type != Type.DELETED && blogPost.isPublished();
+    }
+    
+    // Drafts that stay drafts don't change anything the public site shows
+    public boolean affectsPublicListings() {
+        return previouslyPublished || isPublished();
+    }
+}
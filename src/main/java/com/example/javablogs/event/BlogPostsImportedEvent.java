@@ -0,0 +1,17 @@
+package com.example.javablogs.event;
+
+// Published by PostImportService after a bulk import has inserted posts.
+// Imports bypass BlogPostService, so there is no BlogPostChangedEvent per post and
+// derived read models are expected to rebuild or reconcile from the database instead.
+public class BlogPostsImportedEvent {
+    
+    private final long importedCount;
+    
+    public BlogPostsImportedEvent(long importedCount) {
+        this.importedCount = importedCount;
+    }
+    
+    public long getImportedCount() {
+        return importedCount;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.javablogs.event;
+
+import java.util.Set;
+
+// Published by RelatedPostsService when the related posts shown on some post pages changed,
+// either the list itself or the title of a post on it. Those pages must be re-rendered.
+public class RelatedPostsChangedEvent {
+    
+    private final Set<Long> postIds;
+    
+    public RelatedPostsChangedEvent(Set<Long> postIds) {
+        this.postIds = Set.copyOf(postIds);
+    }
+    
+    public Set<Long> getPostIds() {
+        return postIds;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.javablogs.event;
+
+import com.example.javablogs.entity.User;
+
+// Published by UserService after a user has been written to the database
+public class UserChangedEvent {
+    
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+    
+    private final Type type;
+    private final User user;
+    private final String previousUsername;
+    
+    public UserChangedEvent(Type type, User user, String previousUsername) {
+        this.type = type;
+        this.user = user;
+        this.previousUsername = previousUsername;
+    }
+    
+    public static UserChangedEvent created(User user) {
+        return new UserChangedEvent(Type.CREATED, user, user.getUsername());
+    }
+    
+    public static UserChangedEvent updated(User user, String previousUsername) {
+        return new UserChangedEvent(Type.UPDATED, user, previousUsername);
+    }
+    
+    public static UserChangedEvent deleted(User user) {
+        return new UserChangedEvent(Type.DELETED, user, user.getUsername());
+    }
+    
+    public Type getType() {
+        return type;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public Long getUserId() {
+        return user.getId();
+    }
+    
+    // Username before the change; differs from user.getUsername() when an update renamed the user
+    public String getPreviousUsername() {
+        return previousUsername;
+    }
+}
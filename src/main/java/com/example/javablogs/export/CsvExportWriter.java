@@ -0,0 +1,70 @@
+package com.example.javablogs.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// RFC 4180 CSV with a header row
+class CsvExportWriter implements ExportWriter {
+    
+    private final Writer writer;
+    
+    CsvExportWriter(OutputStream out, List<String> columns) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try {
+            writeRow(columns);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value != null) {
+                writeField(value.toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+    
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
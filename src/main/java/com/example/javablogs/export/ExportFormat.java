@@ -0,0 +1,39 @@
+package com.example.javablogs.export;
+
+import java.io.OutputStream;
+import java.util.List;
+
+public enum ExportFormat {
+    
+    CSV("csv", "text/csv"),
+    NDJSON("ndjson", "application/x-ndjson");
+    
+    private final String extension;
+    private final String contentType;
+    
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+    
+    public String getExtension() {
+        return extension;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public ExportWriter createWriter(OutputStream out, List<String> columns) {
+        return this == CSV ? new CsvExportWriter(out, columns) : new NdjsonExportWriter(out, columns);
+    }
+    
+    public static ExportFormat fromExtension(String extension) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + extension);
+    }
+}
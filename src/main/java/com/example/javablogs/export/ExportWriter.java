@@ -0,0 +1,14 @@
+package com.example.javablogs.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+// Writes one row at a time straight to the response; nothing is buffered beyond the stream's own buffer
+public interface ExportWriter extends Closeable {
+    
+    // Values are in the same order as the columns the writer was created with
+    void writeRow(List<?> values) throws IOException;
+    
+    void flush() throws IOException;
+}
@@ -0,0 +1,69 @@
+package com.example.javablogs.export;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+// One JSON object per line, written with the streaming generator so no object tree is built
+class NdjsonExportWriter implements ExportWriter {
+    
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    
+    private final JsonGenerator generator;
+    private final List<String> columns;
+    private boolean empty = true;
+    
+    NdjsonExportWriter(OutputStream out, List<String> columns) {
+        this.columns = columns;
+        try {
+            this.generator = JSON_FACTORY.createGenerator(out, JsonEncoding.UTF8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Root values are separated by a newline instead of the default space
+        this.generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+    
+    @Override
+    public void writeRow(List<?> values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            generator.writeFieldName(columns.get(i));
+            Object value = values.get(i);
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Long number) {
+                generator.writeNumber(number);
+            } else if (value instanceof Integer number) {
+                generator.writeNumber(number);
+            } else if (value instanceof Boolean bool) {
+                generator.writeBoolean(bool);
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        empty = false;
+    }
+    
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        // The last record also ends with a newline
+        if (!empty) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+}
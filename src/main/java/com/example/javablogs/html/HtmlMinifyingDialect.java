@@ -0,0 +1,29 @@
+package com.example.javablogs.html;
+
+import org.thymeleaf.dialect.AbstractDialect;
+import org.thymeleaf.dialect.IPostProcessorDialect;
+import org.thymeleaf.postprocessor.IPostProcessor;
+import org.thymeleaf.postprocessor.PostProcessor;
+import org.thymeleaf.templatemode.TemplateMode;
+
+import java.util.Set;
+
+// Runs HtmlMinifyingHandler over the output of every HTML template
+public class HtmlMinifyingDialect extends AbstractDialect implements IPostProcessorDialect {
+    
+    private static final int PRECEDENCE = 1000;
+    
+    public HtmlMinifyingDialect() {
+        super("HTML Minifier");
+    }
+    
+    @Override
+    public int getDialectPostProcessorPrecedence() {
+        return PRECEDENCE;
+    }
+    
+    @Override
+    public Set<IPostProcessor> getPostProcessors() {
+        return Set.of(new PostProcessor(TemplateMode.HTML, HtmlMinifyingHandler.class, PRECEDENCE));
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.javablogs.html;
+
+import org.thymeleaf.engine.AbstractTemplateHandler;
+import org.thymeleaf.model.ICloseElementTag;
+import org.thymeleaf.model.IComment;
+import org.thymeleaf.model.IOpenElementTag;
+import org.thymeleaf.model.IText;
+
+// Drops comments and collapses the indentation between tags to a single character. Only text that is
+// entirely whitespace is touched, so rendered content (including post bodies shown with
+// white-space: pre-line) is unchanged, and <pre>/<textarea> contents are passed through as they are.
+public class HtmlMinifyingHandler extends AbstractTemplateHandler {
+    
+    private int preformattedDepth;
+    
+    @Override
+    public void handleOpenElement(IOpenElementTag openElementTag) {
+        if (isPreformatted(openElementTag.getElementCompleteName())) {
+            preformattedDepth++;
+        }
+        super.handleOpenElement(openElementTag);
+    }
+    
+    @Override
+    public void handleCloseElement(ICloseElementTag closeElementTag) {
+        if (isPreformatted(closeElementTag.getElementCompleteName()) && preformattedDepth > 0) {
+            preformattedDepth--;
+        }
+        super.handleCloseElement(closeElementTag);
+    }
+    
+    @Override
+    public void handleComment(IComment comment) {
+        // Conditional comments are markup for old browsers, not documentation
+        if (comment.getContent().startsWith("[if")) {
+            super.handleComment(comment);
+        }
+    }
+    
+    @Override
+    public void handleText(IText text) {
+        if (preformattedDepth > 0 || text.length() < 2) {
+            super.handleText(text);
+            return;
+        }
+        boolean newline = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                super.handleText(text);
+                return;
+            }
+            newline |= c == '\n';
+        }
+        super.handleText(getContext().getModelFactory().createText(newline ? "\n" : " "));
+    }
+    
+    private static boolean isPreformatted(String elementName) {
+        return "pre".equalsIgnoreCase(elementName) || "textarea".equalsIgnoreCase(elementName);
+    }
+}
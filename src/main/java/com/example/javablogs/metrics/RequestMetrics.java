@@ -0,0 +1,68 @@
+package com.example.javablogs.metrics;
+
+// Per-request state shared by the metrics interceptor, the SQL statement counter and the repository
+// metric tags. It is bound to the request thread between preHandle and afterCompletion; work on other
+// threads (scheduled jobs, async exports, imports) is tagged with endpoint "none".
+public final class RequestMetrics {
+    
+    public static final String ENDPOINT_TAG = "endpoint";
+    public static final String NO_ENDPOINT = "none";
+    
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+    
+    private final String endpoint;
+    private int statementCount;
+    private long renderStartNanos;
+    private String template;
+    
+    private RequestMetrics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+    
+    static RequestMetrics begin(String endpoint) {
+        RequestMetrics metrics = new RequestMetrics(endpoint);
+        CURRENT.set(metrics);
+        return metrics;
+    }
+    
+    static RequestMetrics current() {
+        return CURRENT.get();
+    }
+    
+    static void end() {
+        CURRENT.remove();
+    }
+    
+    public static String currentEndpoint() {
+        RequestMetrics metrics = CURRENT.get();
+        return metrics != null ? metrics.endpoint : NO_ENDPOINT;
+    }
+    
+    static void statementPrepared() {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.statementCount++;
+        }
+    }
+    
+    String getEndpoint() {
+        return endpoint;
+    }
+    
+    int getStatementCount() {
+        return statementCount;
+    }
+    
+    void renderStarted(String template) {
+        this.template = template;
+        this.renderStartNanos = System.nanoTime();
+    }
+    
+    String getTemplate() {
+        return template;
+    }
+    
+    long getRenderStartNanos() {
+        return renderStartNanos;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.javablogs.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.concurrent.TimeUnit;
+
+// Tags the request thread with the handling controller method ("HomeController.blogList") and, once
+// the response is complete, records how many SQL statements the request issued and how long its
+// Thymeleaf view took to render (the time between postHandle and afterCompletion).
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+    
+    private final MeterRegistry registry;
+    
+    public RequestMetricsInterceptor(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            RequestMetrics.begin(method.getBeanType().getSimpleName() + "." + method.getMethod().getName());
+        }
+        return true;
+    }
+    
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics != null && modelAndView != null && modelAndView.getViewName() != null
+                && !modelAndView.getViewName().startsWith("redirect:")) {
+            metrics.renderStarted(modelAndView.getViewName());
+        }
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestMetrics metrics = RequestMetrics.current();
+        if (metrics == null) {
+            return;
+        }
+        try {
+            if (metrics.getTemplate() != null) {
+                Timer.builder("thymeleaf.render")
+                        .description("Time spent rendering a Thymeleaf view")
+                        .tag("template", metrics.getTemplate())
+                        .tag(RequestMetrics.ENDPOINT_TAG, metrics.getEndpoint())
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(System.nanoTime() - metrics.getRenderStartNanos(), TimeUnit.NANOSECONDS);
+            }
+            DistributionSummary.builder("http.server.requests.sql.statements")
+                    .description("SQL statements prepared while handling a request")
+                    .tag(RequestMetrics.ENDPOINT_TAG, metrics.getEndpoint())
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(metrics.getStatementCount());
+        } finally {
+            RequestMetrics.end();
+        }
+    }
+    
+    // Streaming responses finish on another thread; the counts up to here are dropped with the binding
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestMetrics.end();
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.javablogs.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts every statement Hibernate prepares on the request thread, including lazy loads during
+// rendering. Statements issued directly through JdbcTemplate are not seen here.
+public class SqlStatementCounter implements StatementInspector {
+    
+    @Override
+    public String inspect(String sql) {
+        RequestMetrics.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.javablogs.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+// Records login latency, including the user lookup and the password hash, tagged by outcome
+public class TimedAuthenticationProvider implements AuthenticationProvider {
+    
+    private final AuthenticationProvider delegate;
+    private final MeterRegistry registry;
+    
+    public TimedAuthenticationProvider(AuthenticationProvider delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+    }
+    
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        Timer.Sample sample = Timer.start(registry);
+        String result = "error";
+        try {
+            Authentication authenticated = delegate.authenticate(authentication);
+            result = authenticated != null ? "success" : "unsupported";
+            return authenticated;
+        } catch (BadCredentialsException e) {
+            result = "bad_credentials";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("app.authentication")
+                    .description("Time taken to authenticate a login attempt")
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+    
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+}
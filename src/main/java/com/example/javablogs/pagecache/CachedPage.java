@@ -0,0 +1,137 @@
+package com.example.javablogs.pagecache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+// A rendered page: the headers that matter for replay plus the gzip-compressed body.
+// The body either lives on the heap or in a memory-mapped file, in which case it only
+// occupies the OS page cache and not the Java heap.
+public class CachedPage {
+    
+    // Headers set by the controller that are replayed on a hit, besides the content type
+    static final String[] REPLAYED_HEADERS = {
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED
+    };
+    
+    private final Map<String, String> headers;
+    private final ByteBuffer body;
+    private final Path file;
+    
+    private CachedPage(Map<String, String> headers, ByteBuffer body, Path file) {
+        this.headers = headers;
+        this.body = body;
+        this.file = file;
+    }
+    
+    static CachedPage onHeap(Map<String, String> headers, byte[] gzipped) {
+        return new CachedPage(Collections.unmodifiableMap(new LinkedHashMap<>(headers)), ByteBuffer.wrap(gzipped), null);
+    }
+    
+    static CachedPage mapped(Map<String, String> headers, byte[] gzipped, Path file) throws IOException {
+        Files.write(file, gzipped);
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, gzipped.length);
+        }
+        return new CachedPage(Collections.unmodifiableMap(new LinkedHashMap<>(headers)), buffer, file);
+    }
+    
+    public int getSize() {
+        return body.capacity();
+    }
+    
+    boolean isMapped() {
+        return file != null;
+    }
+    
+    void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String etag = headers.get(HttpHeaders.ETAG);
+        if (etag != null && new ServletWebRequest(request, response).checkNotModified(etag)) {
+            if (headers.containsKey(HttpHeaders.CACHE_CONTROL)) {
+                response.setHeader(HttpHeaders.CACHE_CONTROL, headers.get(HttpHeaders.CACHE_CONTROL));
+            }
+            return;
+        }
+        
+        headers.forEach(response::setHeader);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        
+        boolean gzip = acceptsGzip(request);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setContentLength(body.capacity());
+        }
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+        
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            Channels.newChannel(out).write(body.duplicate());
+        } else {
+            try (InputStream in = new GZIPInputStream(new ByteBufferInputStream(body.duplicate()))) {
+                in.transferTo(out);
+            }
+        }
+    }
+    
+    // The mapping stays valid after the file is unlinked, so pages that are still
+    // being written out when they get evicted are unaffected
+    void release() {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Whatever is left over is removed with the spill directory on the next startup
+            }
+        }
+    }
+    
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+    
+    private static class ByteBufferInputStream extends InputStream {
+        
+        private final ByteBuffer buffer;
+        
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+        
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+        
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
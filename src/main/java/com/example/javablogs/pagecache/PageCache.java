@@ -0,0 +1,126 @@
+package com.example.javablogs.pagecache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+// Rendered HTML of the public blog pages, keyed by path and query string.
+// Bodies are stored gzip-compressed and the cache is bounded by their total compressed size.
+// With app.page-cache.spill-dir set, bodies above the spill threshold are written to
+// memory-mapped files there instead of being kept on the heap.
+@Component
+@ConditionalOnProperty(name = "app.page-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PageCache {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PageCache.class);
+    
+    private final Cache<String, CachedPage> pages;
+    private final Path spillDir;
+    private final int spillThreshold;
+    
+    // Bumped on every invalidation. A render that started before an invalidation is not stored,
+    // because it may have read the data that the invalidation was about.
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong spillCounter = new AtomicLong();
+    
+    public PageCache(@Value("${app.page-cache.max-bytes:67108864}") long maxBytes,
+                     @Value("${app.page-cache.ttl:10m}") Duration ttl,
+                     @Value("${app.page-cache.spill-dir:}") String spillDir,
+                     @Value("${app.page-cache.spill-threshold:16384}") int spillThreshold) throws IOException {
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedPage page) -> page.getSize())
+                .expireAfterWrite(ttl)
+                .removalListener((String key, CachedPage page, RemovalCause cause) -> {
+                    if (page != null) {
+                        page.release();
+                    }
+                })
+                .recordStats()
+                .build();
+        this.spillThreshold = spillThreshold;
+        
+        if (spillDir.isEmpty()) {
+            this.spillDir = null;
+        } else {
+            this.spillDir = Paths.get(spillDir);
+            // Files from a previous run are never referenced again
+            FileSystemUtils.deleteRecursively(this.spillDir);
+            Files.createDirectories(this.spillDir);
+        }
+    }
+    
+    public CachedPage get(String key) {
+        return pages.getIfPresent(key);
+    }
+    
+    public long generation() {
+        return generation.get();
+    }
+    
+    // Stores a rendered page unless the cache was invalidated after the render started
+    public void put(String key, Map<String, String> headers, byte[] html, long renderedAtGeneration) {
+        if (generation.get() != renderedAtGeneration) {
+            return;
+        }
+        try {
+            byte[] gzipped = gzip(html);
+            CachedPage page = spillDir != null && gzipped.length >= spillThreshold
+                    ? CachedPage.mapped(headers, gzipped, spillDir.resolve(spillCounter.incrementAndGet() + ".html.gz"))
+                    : CachedPage.onHeap(headers, gzipped);
+            pages.put(key, page);
+        } catch (IOException e) {
+            logger.warn("Could not cache page {}", key, e);
+            return;
+        }
+        
+        // An invalidation may have slipped in while the page was being compressed
+        if (generation.get() != renderedAtGeneration) {
+            pages.invalidate(key);
+        }
+    }
+    
+    public void invalidate(Collection<String> keys) {
+        generation.incrementAndGet();
+        pages.invalidateAll(keys);
+    }
+    
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        pages.invalidateAll();
+    }
+    
+    public List<String> keys() {
+        return List.copyOf(pages.asMap().keySet());
+    }
+    
+    public Cache<String, CachedPage> getPages() {
+        return pages;
+    }
+    
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.javablogs.pagecache;
+
+import com.example.javablogs.pagination.PostCursor;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Serves anonymous GETs of /blog and /blog/{id} from the PageCache and stores misses after rendering.
+// Registered after the Spring Security filter chain (see PageCacheConfig) so the authentication is known.
+public class PageCacheFilter extends OncePerRequestFilter {
+    
+    static final String CACHE_STATUS_HEADER = "X-Page-Cache";
+    
+    private static final Pattern CACHEABLE_PATH = Pattern.compile("/blog(/\\d+)?");
+    
+    // Search results are not cached: arbitrary keywords would only churn the cache
+    private static final Set<String> CACHEABLE_PARAMS = Set.of("page", "size", "cursor");
+    
+    private static final String DEFAULT_SIZE = "10";
+    
+    private final PageCache pageCache;
+    private final int maxPageSize;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+    
+    public PageCacheFilter(PageCache pageCache, int maxPageSize) {
+        this.pageCache = pageCache;
+        this.maxPageSize = maxPageSize;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!isCacheable(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        String key = keyOf(request);
+        if (key == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        CachedPage page = pageCache.get(key);
+        if (page != null) {
+            response.setHeader(CACHE_STATUS_HEADER, "HIT");
+            page.writeTo(request, response);
+            return;
+        }
+        
+        long generation = pageCache.generation();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        wrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+        try {
+            chain.doFilter(request, wrapper);
+            if (isStorable(wrapper)) {
+                pageCache.put(key, replayedHeaders(wrapper), wrapper.getContentAsByteArray(), generation);
+            }
+        } finally {
+            wrapper.copyBodyToResponse();
+        }
+    }
+    
+    // One key per distinct page, whatever the order, spelling or range of the parameters, so clients can't
+    // fill the cache with copies of the same page. Parameters are normalized the way HomeController applies
+    // them, and the key is a URL that renders the page, which PageCacheRefresher relies on.
+    // Returns null for values the controller would reject.
+    String keyOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!uri.endsWith("/blog")) {
+            // Post pages ignore the listing parameters
+            return uri;
+        }
+        try {
+            int size = Math.min(Math.max(Integer.parseInt(parameter(request, "size", DEFAULT_SIZE)), 1), maxPageSize);
+            String page = parameter(request, "page", null);
+            if (page != null) {
+                return uri + "?page=" + Math.max(Integer.parseInt(page), 0) + "&size=" + size;
+            }
+            PostCursor cursor = PostCursor.decode(request.getParameter("cursor"));
+            return cursor == null
+                    ? uri + "?size=" + size
+                    : uri + "?cursor=" + cursor.encode() + "&size=" + size;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+    
+    // Empty values fall back to the default, as they do for @RequestParam
+    private static String parameter(HttpServletRequest request, String name, String defaultValue) {
+        String value = request.getParameter(name);
+        return value != null && !value.isEmpty() ? value : defaultValue;
+    }
+    
+    private boolean isCacheable(HttpServletRequest request) {
+        String method = request.getMethod();
+        if (!"GET".equals(method) && !"HEAD".equals(method)) {
+            return false;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!CACHEABLE_PATH.matcher(path).matches()) {
+            return false;
+        }
+        for (String name : Collections.list(request.getParameterNames())) {
+            if (!CACHEABLE_PARAMS.contains(name)) {
+                return false;
+            }
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || trustResolver.isAnonymous(authentication);
+    }
+    
+    // Only complete HTML pages that don't start a session are shared between visitors.
+    // HEAD responses have no body and are never stored.
+    private boolean isStorable(ContentCachingResponseWrapper response) {
+        String contentType = response.getContentType();
+        return response.getStatus() == HttpStatus.OK.value()
+                && contentType != null && contentType.startsWith("text/html")
+                && !response.containsHeader(HttpHeaders.SET_COOKIE)
+                && response.getContentSize() > 0;
+    }
+    
+    private static Map<String, String> replayedHeaders(HttpServletResponse response) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        // The servlet container keeps the content type outside the header map until the response is committed
+        headers.put(HttpHeaders.CONTENT_TYPE, response.getContentType());
+        for (String name : CachedPage.REPLAYED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return headers;
+    }
+}
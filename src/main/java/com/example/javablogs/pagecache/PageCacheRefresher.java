@@ -0,0 +1,157 @@
+package com.example.javablogs.pagecache;
+
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.event.RelatedPostsChangedEvent;
+import com.example.javablogs.event.UserChangedEvent;
+import com.example.javablogs.views.ViewCountingFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Evicts rendered pages when posts or authors change, then re-renders them in the background
+// so that readers keep hitting a warm cache.
+//
+// Eviction happens right away. Regeneration waits for app.page-cache.regenerate-delay. That way it
+// starts after the other listeners of the same event (Spring caches, search index) have run, and a
+// burst of edits is coalesced into one pass. The pages are evicted once more at that point, so a
+// render that raced with the write can't survive.
+@Component
+@ConditionalOnProperty(name = "app.page-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PageCacheRefresher {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PageCacheRefresher.class);
+    
+    private static final String LISTING_PATH = "/blog";
+    
+    @Autowired
+    private PageCache pageCache;
+    
+    @Autowired
+    private TaskScheduler taskScheduler;
+    
+    @Value("${app.page-cache.regenerate-delay:500ms}")
+    private Duration regenerateDelay;
+    
+    @Value("${app.page-cache.regenerate-limit:50}")
+    private int regenerateLimit;
+    
+    @Value("${server.servlet.context-path:}")
+    private String contextPath;
+    
+    private final RestClient restClient = RestClient.create();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    
+    private volatile int port = -1;
+    
+    @EventListener
+    public void onWebServerInitialized(WebServerInitializedEvent event) {
+        port = event.getWebServer().getPort();
+    }
+    
+    @EventListener
+    public void onBlogPostChanged(BlogPostChangedEvent event) {
+        List<String> stale = new ArrayList<>();
+        String detailKey = contextPath + LISTING_PATH + "/" + event.getPostId();
+        stale.add(detailKey);
+        if (event.affectsPublicListings()) {
+            stale.addAll(listingKeys());
+        }
+        pageCache.invalidate(stale);
+        
+        if (event.getType() == BlogPostChangedEvent.Type.DELETED) {
+            stale.remove(detailKey);
+        }
+        scheduleRegeneration(stale);
+    }
+    
+    @EventListener(BlogPostsImportedEvent.class)
+    public void onBlogPostsImported() {
+        List<String> stale = listingKeys();
+        pageCache.invalidate(stale);
+        scheduleRegeneration(stale);
+    }
+    
+    @EventListener
+    public void onRelatedPostsChanged(RelatedPostsChangedEvent event) {
+        List<String> stale = new ArrayList<>();
+        for (Long postId : event.getPostIds()) {
+            stale.add(contextPath + LISTING_PATH + "/" + postId);
+        }
+        pageCache.invalidate(stale);
+        scheduleRegeneration(stale);
+    }
+    
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.Type.CREATED) {
+            return;
+        }
+        // Author names appear on listings and post pages alike
+        List<String> stale = pageCache.keys();
+        pageCache.invalidateAll();
+        scheduleRegeneration(stale);
+    }
+    
+    private List<String> listingKeys() {
+        String listing = contextPath + LISTING_PATH;
+        List<String> keys = new ArrayList<>();
+        for (String key : pageCache.keys()) {
+            if (key.equals(listing) || key.startsWith(listing + "?")) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+    
+    private void scheduleRegeneration(List<String> keys) {
+        pending.addAll(keys);
+        if (scheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(this::regenerate, Instant.now().plus(regenerateDelay));
+        }
+    }
+    
+    private void regenerate() {
+        scheduled.set(false);
+        List<String> keys = new ArrayList<>(pending);
+        pending.removeAll(keys);
+        pageCache.invalidate(keys);
+        if (port < 0) {
+            return;
+        }
+        
+        // Listings first: they take the most traffic
+        keys.sort((a, b) -> Boolean.compare(a.contains("/blog/"), b.contains("/blog/")));
+        int count = 0;
+        for (String key : keys.subList(0, Math.min(keys.size(), regenerateLimit))) {
+            try {
+                // The request goes through PageCacheFilter, which stores the fresh render
+                restClient.get()
+                        .uri("http://localhost:" + port + key)
+                        .header(ViewCountingFilter.REFRESH_HEADER, "true")
+                        .retrieve()
+                        .toBodilessEntity();
+                count++;
+            } catch (Exception e) {
+                logger.debug("Could not regenerate page {}: {}", key, e.getMessage());
+            }
+        }
+        logger.debug("Regenerated {} of {} evicted pages", count, keys.size());
+    }
+}
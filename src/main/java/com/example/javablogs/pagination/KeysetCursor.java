@@ -0,0 +1,70 @@
+package com.example.javablogs.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Continuation token for listings that can be sorted on different columns.
+// Holds the sort it was issued for, the sort column value of the last row and that row's id as tie-breaker.
+public class KeysetCursor {
+    
+    private static final String SEPARATOR = "|";
+    
+    private final String sort;
+    private final String value;
+    private final Long id;
+    private final LocalDateTime dateTime;
+    
+    public KeysetCursor(String sort, String value, Long id) {
+        this(sort, value, id, null);
+    }
+    
+    private KeysetCursor(String sort, String value, Long id, LocalDateTime dateTime) {
+        this.sort = sort;
+        this.value = value;
+        this.id = id;
+        this.dateTime = dateTime;
+    }
+    
+    public String getSort() {
+        return sort;
+    }
+    
+    public String getValue() {
+        return value;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    // The value parsed as a date-time, for cursors decoded with dateTimeValue set
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+    
+    public String encode() {
+        String raw = sort + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Returns null for missing or malformed tokens and for tokens issued for a different sort.
+    // With dateTimeValue set the value must also parse as a date-time.
+    public static KeysetCursor decode(String token, String expectedSort, boolean dateTimeValue) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 3);
+            if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+                return null;
+            }
+            LocalDateTime dateTime = dateTimeValue ? LocalDateTime.parse(parts[2]) : null;
+            return new KeysetCursor(parts[0], parts[2], Long.valueOf(parts[1]), dateTime);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+}
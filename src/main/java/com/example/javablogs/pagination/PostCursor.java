@@ -0,0 +1,59 @@
+package com.example.javablogs.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position of the last post on a page in (createdAt DESC, id DESC) order.
+// Encoded as an opaque URL-safe token so clients can't depend on its format.
+public class PostCursor {
+    
+    private static final char SEPARATOR = '|';
+    
+    private final LocalDateTime createdAt;
+    private final Long id;
+    
+    public PostCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    // Returns null for missing or malformed tokens
+    public static PostCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                return null;
+            }
+            return new PostCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return null;
+        }
+    }
+    
+    // Canonical form of a token for cache keys. Malformed tokens read the first page, so they share its key
+    // and arbitrary client strings can't fill the cache with copies of it.
+    public static String keyOf(String token) {
+        PostCursor cursor = decode(token);
+        return cursor == null ? "first" : cursor.createdAt.toString() + SEPARATOR + cursor.id;
+    }
+}
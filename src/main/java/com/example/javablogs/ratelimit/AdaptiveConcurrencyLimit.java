@@ -0,0 +1,63 @@
+package com.example.javablogs.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// AIMD concurrency limit. A request that finishes within the latency target while the limit is
+// at least half used raises the limit by 1/limit (about +1 per limit's worth of requests);
+// a slow or failed request cuts it by the backoff factor, at most once per latency target
+// so one burst of slow requests is a single decrease. Requests over the limit are rejected.
+public class AdaptiveConcurrencyLimit {
+    
+    private static final double BACKOFF = 0.9;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private long lastDecrease = System.nanoTime();
+    
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, Duration latencyTarget) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.limit = Math.max(minLimit, Math.min(initialLimit, maxLimit));
+    }
+    
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+    
+    public void release(long latencyNanos, boolean failed) {
+        int before = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyTargetNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecrease > latencyTargetNanos) {
+                    limit = Math.max(minLimit, limit * BACKOFF);
+                    lastDecrease = now;
+                }
+            } else if (before * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+    
+    public int getLimit() {
+        return (int) limit;
+    }
+    
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
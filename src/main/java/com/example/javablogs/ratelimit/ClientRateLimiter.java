@@ -0,0 +1,48 @@
+package com.example.javablogs.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket per client, implemented as GCRA: each client is a single AtomicLong holding the
+// theoretical arrival time of its next request, updated with compare-and-set, so there are no locks.
+// Clients live in a bounded Caffeine cache. An entry idle for a full burst is equivalent to a full bucket,
+// so expiring it changes nothing; evicting an active client under size pressure only refills its bucket.
+public class ClientRateLimiter {
+    
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final Cache<String, AtomicLong> clients;
+    
+    public ClientRateLimiter(Duration interval, int burst, long maxClients) {
+        this.intervalNanos = interval.toNanos();
+        this.toleranceNanos = intervalNanos * (Math.max(burst, 1) - 1);
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(toleranceNanos + intervalNanos, TimeUnit.NANOSECONDS)
+                .build();
+    }
+    
+    // Zero when the request may proceed, otherwise how long the client has to wait
+    public long tryAcquire(String client) {
+        long now = System.nanoTime();
+        AtomicLong state = clients.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = state.get();
+            long arrival = Math.max(current, now);
+            if (arrival - now > toleranceNanos) {
+                return arrival - now - toleranceNanos;
+            }
+            if (state.compareAndSet(current, arrival + intervalNanos)) {
+                return 0;
+            }
+        }
+    }
+    
+    public long size() {
+        return clients.estimatedSize();
+    }
+}
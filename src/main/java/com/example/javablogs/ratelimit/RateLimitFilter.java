@@ -0,0 +1,122 @@
+package com.example.javablogs.ratelimit;
+
+import com.example.javablogs.views.ViewCountingFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+
+// Admission control for the public pages and the login form, in front of Spring Security so
+// rejected requests never reach a session lookup, a password check or the connection pool.
+// Each client (signed-in user, otherwise remote address) has a token bucket; login attempts have a
+// separate, stricter one. Requests that pass both wait for a slot under the adaptive concurrency limit.
+// Over the rate: 429, over the concurrency limit: 503, both with Retry-After.
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private final ClientRateLimiter requestLimiter;
+    private final ClientRateLimiter loginLimiter;
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    
+    private final Counter rateRejected;
+    private final Counter loginRejected;
+    private final Counter concurrencyRejected;
+    
+    public RateLimitFilter(ClientRateLimiter requestLimiter, ClientRateLimiter loginLimiter,
+                           AdaptiveConcurrencyLimit concurrencyLimit, MeterRegistry registry) {
+        this.requestLimiter = requestLimiter;
+        this.loginLimiter = loginLimiter;
+        this.concurrencyLimit = concurrencyLimit;
+        this.rateRejected = rejectedCounter(registry, "rate");
+        this.loginRejected = rejectedCounter(registry, "login");
+        this.concurrencyRejected = rejectedCounter(registry, "concurrency");
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (isPageCacheRefresh(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        
+        String client = clientOf(request);
+        boolean loginAttempt = "POST".equals(request.getMethod())
+                && "/login".equals(request.getRequestURI().substring(request.getContextPath().length()));
+        long waitNanos = loginAttempt ? loginLimiter.tryAcquire(client) : requestLimiter.tryAcquire(client);
+        if (waitNanos > 0) {
+            (loginAttempt ? loginRejected : rateRejected).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos);
+            return;
+        }
+        
+        if (!concurrencyLimit.tryAcquire()) {
+            concurrencyRejected.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            concurrencyLimit.release(System.nanoTime() - start, failed);
+        }
+    }
+    
+    // The session is read directly because this filter runs before Spring Security has loaded it
+    private String clientOf(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            Object context = session.getAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY);
+            if (context instanceof SecurityContext securityContext) {
+                Authentication authentication = securityContext.getAuthentication();
+                if (authentication != null && authentication.isAuthenticated()) {
+                    return "user:" + authentication.getName();
+                }
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+    
+    // PageCacheRefresher re-renders pages over loopback; only trust its header from there
+    private boolean isPageCacheRefresh(HttpServletRequest request) {
+        if (request.getHeader(ViewCountingFilter.REFRESH_HEADER) == null) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+    
+    private void reject(HttpServletResponse response, HttpStatus status, long waitNanos) throws IOException {
+        long seconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(status.getReasonPhrase());
+    }
+    
+    private static Counter rejectedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("app.requests.rejected")
+                .description("Requests turned away by rate limiting and load shedding")
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
@@ -1,27 +1,101 @@
 package com.example.javablogs.repository;
 
+import com.example.javablogs.dto.PostSummary;
 import com.example.javablogs.entity.BlogPost;
 import com.example.javablogs.entity.User;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface BlogPostRepository extends JpaRepository<BlogPost, Long> {
+public interface BlogPostRepository extends JpaRepository<BlogPost, Long>, BlogPostRepositoryCustom {
+    
+    // Listing pages select PostSummary projections: the author is joined in the same statement
+    // and the precomputed excerpt is read instead of the content column
+    String SUMMARY_SELECT = "SELECT new com.example.javablogs.dto.PostSummary(bp.id, bp.title, bp.excerpt, "
+            + "a.firstName, a.lastName, a.username, bp.createdAt, bp.updatedAt, bp.published, bp.readingMinutes) FROM BlogPost bp JOIN bp.author a ";
+    
+    // MySQL only: natural-language search over the ft_blog_posts_title_content FULLTEXT index (migrations/003)
+    String FULLTEXT_MATCH = "MATCH(bp.title, bp.content) AGAINST (:keyword IN NATURAL LANGUAGE MODE)";
     
     Page<BlogPost> findByPublishedTrueOrderByCreatedAtDesc(Pageable pageable);
     
+    // Detail page fetch plan: the author is joined so the post can be rendered outside the session
+    @EntityGraph(attributePaths = "author")
+    Optional<BlogPost> findWithAuthorById(Long id);
+    
+    // Validator lookup for conditional GETs on the detail page; reads a single column by primary key
+    @Query("SELECT bp.updatedAt FROM BlogPost bp WHERE bp.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(Long id);
+    
+    // Query cache entries are invalidated by any write to blog_posts made through Hibernate
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<BlogPost> findByAuthorOrderByCreatedAtDesc(User author);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<BlogPost> findByAuthorAndPublishedTrueOrderByCreatedAtDesc(User author);
     
-    @Query("SELECT bp FROM BlogPost bp WHERE bp.published = true AND (bp.title LIKE %:keyword% OR bp.content LIKE %:keyword%)")
-    Page<BlogPost> searchPublishedPosts(String keyword, Pageable pageable);
+    List<BlogPost> findTop500ByPublishedTrueAndIdGreaterThanOrderByIdAsc(Long id);
+    
+    long countByPublishedTrue();
+    
+    // Admin export. A fetch size of Integer.MIN_VALUE makes Connector/J stream rows one by one
+    // instead of reading the whole result set into memory. Must be consumed inside a transaction.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT bp FROM BlogPost bp JOIN FETCH bp.author ORDER BY bp.id")
+    Stream<BlogPost> streamAllForExport();
+    
+    // Rows written before the derived columns existed
+    List<BlogPost> findTop500ByExcerptIsNullAndIdGreaterThanOrderByIdAsc(Long id);
+    
+    // Keyset pagination over idx_blog_posts_published_created; a List return type skips the count query
+    @Query(SUMMARY_SELECT + "WHERE bp.published = true ORDER BY bp.createdAt DESC, bp.id DESC")
+    List<PostSummary> findFirstPublishedPosts(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE bp.published = true AND (bp.createdAt < :createdAt OR (bp.createdAt = :createdAt AND bp.id < :id)) ORDER BY bp.createdAt DESC, bp.id DESC")
+    List<PostSummary> findPublishedPostsBefore(LocalDateTime createdAt, Long id, Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE bp.published = true ORDER BY bp.createdAt DESC",
+           countQuery = "SELECT COUNT(bp) FROM BlogPost bp WHERE bp.published = true")
+    Page<PostSummary> findPublishedSummaries(Pageable pageable);
+    
+    @Query(SUMMARY_SELECT + "WHERE bp.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(Collection<Long> ids);
+    
+    @Query(SUMMARY_SELECT + "ORDER BY bp.createdAt DESC, bp.id DESC")
+    List<PostSummary> findRecentSummaries(Pageable pageable);
+    
+    @Query(value = SUMMARY_SELECT + "WHERE bp.published = true AND (bp.title LIKE %:keyword% OR bp.content LIKE %:keyword%)",
+           countQuery = "SELECT COUNT(bp) FROM BlogPost bp WHERE bp.published = true AND (bp.title LIKE %:keyword% OR bp.content LIKE %:keyword%)")
+    Page<PostSummary> searchPublishedPosts(String keyword, Pageable pageable);
     
     @Query("SELECT bp FROM BlogPost bp WHERE bp.author = :author AND (bp.title LIKE %:keyword% OR bp.content LIKE %:keyword%)")
     List<BlogPost> searchPostsByAuthor(User author, String keyword);
+    
+    // Most relevant first; only ids are selected so the caller can load summaries for the page
+    @Query(value = "SELECT bp.id FROM blog_posts bp WHERE bp.is_published = true AND " + FULLTEXT_MATCH
+                   + " ORDER BY " + FULLTEXT_MATCH + " DESC, bp.id DESC",
+           countQuery = "SELECT COUNT(*) FROM blog_posts bp WHERE bp.is_published = true AND " + FULLTEXT_MATCH,
+           nativeQuery = true)
+    Page<Long> searchPublishedPostIdsFullText(String keyword, Pageable pageable);
+    
+    @Query(value = "SELECT bp.* FROM blog_posts bp WHERE bp.author_id = :authorId AND " + FULLTEXT_MATCH
+                   + " ORDER BY " + FULLTEXT_MATCH + " DESC, bp.id DESC",
+           nativeQuery = true)
+    List<BlogPost> searchPostsByAuthorFullText(Long authorId, String keyword);
 }
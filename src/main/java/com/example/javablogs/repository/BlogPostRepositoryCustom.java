@@ -0,0 +1,12 @@
+package com.example.javablogs.repository;
+
+import com.example.javablogs.dto.AdminPostFilter;
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.pagination.KeysetCursor;
+
+import java.util.List;
+
+public interface BlogPostRepositoryCustom {
+    
+    List<PostSummary> findAdminPage(AdminPostFilter filter, KeysetCursor after, int limit);
+}
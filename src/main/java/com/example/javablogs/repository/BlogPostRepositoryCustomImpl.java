@@ -0,0 +1,80 @@
+package com.example.javablogs.repository;
+
+import com.example.javablogs.dto.AdminPostFilter;
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.entity.User;
+import com.example.javablogs.pagination.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BlogPostRepositoryCustomImpl implements BlogPostRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<PostSummary> findAdminPage(AdminPostFilter filter, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PostSummary> query = cb.createQuery(PostSummary.class);
+        Root<BlogPost> post = query.from(BlogPost.class);
+        Join<BlogPost, User> author = post.join("author");
+        
+        Path<Long> id = post.get("id");
+        Path<String> title = post.get("title");
+        Path<LocalDateTime> createdAt = post.get("createdAt");
+        
+        query.select(cb.construct(PostSummary.class,
+                id, title, post.get("excerpt"),
+                author.get("firstName"), author.get("lastName"), author.get("username"),
+                createdAt, post.get("updatedAt"), post.get("published"), post.get("readingMinutes")));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getAuthor() != null) {
+            predicates.add(cb.equal(author.get("username"), filter.getAuthor()));
+        }
+        if (filter.getPublished() != null) {
+            predicates.add(cb.equal(post.get("published"), filter.getPublished()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.getTo().plusDays(1).atStartOfDay()));
+        }
+        
+        switch (filter.getSort()) {
+            case OLDEST -> {
+                if (after != null) {
+                    predicates.add(Keyset.after(cb, createdAt, after.getDateTime(), id, after.getId(), false));
+                }
+                query.orderBy(cb.asc(createdAt), cb.asc(id));
+            }
+            case TITLE -> {
+                if (after != null) {
+                    predicates.add(Keyset.after(cb, title, after.getValue(), id, after.getId(), false));
+                }
+                query.orderBy(cb.asc(title), cb.asc(id));
+            }
+            default -> {
+                if (after != null) {
+                    predicates.add(Keyset.after(cb, createdAt, after.getDateTime(), id, after.getId(), true));
+                }
+                query.orderBy(cb.desc(createdAt), cb.desc(id));
+            }
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.javablogs.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+
+final class Keyset {
+    
+    private Keyset() {}
+    
+    // Rows strictly after (value, id) in (field, id) order, which must match the ORDER BY of the query
+    static <T extends Comparable<? super T>> Predicate after(CriteriaBuilder cb, Expression<T> field, T value,
+                                                           Expression<Long> id, Long lastId, boolean descending) {
+        if (descending) {
+            return cb.or(cb.lessThan(field, value),
+                    cb.and(cb.equal(field, value), cb.lessThan(id, lastId)));
+        }
+        return cb.or(cb.greaterThan(field, value),
+                cb.and(cb.equal(field, value), cb.greaterThan(id, lastId)));
+    }
+}
@@ -1,19 +1,49 @@
 package com.example.javablogs.repository;
 
+import com.example.javablogs.dto.UserSummary;
 import com.example.javablogs.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
     
-    Optional<User> findByUsername(String username);
+    // findByUsername is implemented in UserRepositoryCustomImpl as a natural-id lookup
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByUsername(String username);
     
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
+    
+    long countByUsernameIn(Collection<String> usernames);
+    
+    // Rows of (username, id) for resolving authors during bulk imports
+    @Query("SELECT u.username, u.id FROM User u WHERE u.username IN :usernames")
+    List<Object[]> findIdsByUsernameIn(Collection<String> usernames);
+    
+    @Query("SELECT new com.example.javablogs.dto.UserSummary(u.id, u.username, u.email, u.firstName, u.lastName, u.role, u.createdAt) "
+            + "FROM User u ORDER BY u.createdAt DESC, u.id DESC")
+    List<UserSummary> findRecentSummaries(Pageable pageable);
+    
+    // Admin export, streamed row by row like BlogPostRepository.streamAllForExport
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAllForExport();
 }
@@ -0,0 +1,16 @@
+package com.example.javablogs.repository;
+
+import com.example.javablogs.dto.AdminUserFilter;
+import com.example.javablogs.dto.UserSummary;
+import com.example.javablogs.entity.User;
+import com.example.javablogs.pagination.KeysetCursor;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    
+    Optional<User> findByUsername(String username);
+    
+    List<UserSummary> findAdminPage(AdminUserFilter filter, KeysetCursor after, int limit);
+}
@@ -0,0 +1,82 @@
+package com.example.javablogs.repository;
+
+import com.example.javablogs.dto.AdminUserFilter;
+import com.example.javablogs.dto.UserSummary;
+import com.example.javablogs.entity.User;
+import com.example.javablogs.pagination.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    // Resolved through the natural-id API so both the username -> id mapping and the user itself
+    // come from the second-level cache when present
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+    
+    @Override
+    public List<UserSummary> findAdminPage(AdminUserFilter filter, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UserSummary> query = cb.createQuery(UserSummary.class);
+        Root<User> user = query.from(User.class);
+        
+        Path<Long> id = user.get("id");
+        Path<String> username = user.get("username");
+        Path<LocalDateTime> createdAt = user.get("createdAt");
+        
+        query.select(cb.construct(UserSummary.class,
+                id, username, user.get("email"), user.get("firstName"), user.get("lastName"),
+                user.get("role"), createdAt));
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getRole() != null) {
+            predicates.add(cb.equal(user.get("role"), filter.getRole()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, filter.getFrom().atStartOfDay()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThan(createdAt, filter.getTo().plusDays(1).atStartOfDay()));
+        }
+        
+        switch (filter.getSort()) {
+            case OLDEST -> {
+                if (after != null) {
+                    predicates.add(Keyset.after(cb, createdAt, after.getDateTime(), id, after.getId(), false));
+                }
+                query.orderBy(cb.asc(createdAt), cb.asc(id));
+            }
+            case USERNAME -> {
+                if (after != null) {
+                    predicates.add(Keyset.after(cb, username, after.getValue(), id, after.getId(), false));
+                }
+                query.orderBy(cb.asc(username), cb.asc(id));
+            }
+            default -> {
+                if (after != null) {
+                    predicates.add(Keyset.after(cb, createdAt, after.getDateTime(), id, after.getId(), true));
+                }
+                query.orderBy(cb.desc(createdAt), cb.desc(id));
+            }
+        }
+        
+        query.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
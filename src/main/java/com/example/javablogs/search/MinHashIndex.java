@@ -0,0 +1,270 @@
+package com.example.javablogs.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Near-duplicate and related-document index. Each document gets a MinHash signature over its word shingles;
+// the signature is cut into LSH bands and documents sharing any band are candidates, scored by the fraction
+// of signature slots they agree on (an estimate of the Jaccard similarity of their shingle sets).
+// The top related documents are stored per document, so a lookup is a single map read.
+public class MinHashIndex {
+    
+    private static final int SIGNATURE_SIZE = 128;
+    
+    // 32 bands of 4 rows: documents with a Jaccard similarity around 0.4 and up are likely to collide
+    private static final int BANDS = 32;
+    private static final int ROWS = SIGNATURE_SIZE / BANDS;
+    
+    private static final int SHINGLE_LENGTH = 3;
+    
+    private static final long[] SEEDS = new long[SIGNATURE_SIZE];
+    
+    static {
+        long seed = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            seed = mix(seed + i);
+            SEEDS[i] = seed;
+        }
+    }
+    
+    private final int relatedSize;
+    private final double minSimilarity;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, int[]> signatures = new HashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final Map<Long, long[]> related = new HashMap<>();
+    
+    public MinHashIndex(int relatedSize, double minSimilarity) {
+        this.relatedSize = relatedSize;
+        this.minSimilarity = minSimilarity;
+    }
+    
+    public static int[] signatureOf(String text) {
+        int[] signature = new int[SIGNATURE_SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        
+        List<String> tokens = Tokenizer.tokenize(text);
+        int shingleLength = Math.min(SHINGLE_LENGTH, tokens.size());
+        for (int start = 0; start + shingleLength <= tokens.size() && shingleLength > 0; start++) {
+            long shingle = 0xCBF29CE484222325L;
+            for (int i = start; i < start + shingleLength; i++) {
+                shingle = (shingle ^ tokens.get(i).hashCode()) * 0x100000001B3L;
+            }
+            for (int i = 0; i < SIGNATURE_SIZE; i++) {
+                int hash = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (hash < signature[i]) {
+                    signature[i] = hash;
+                }
+            }
+        }
+        return signature;
+    }
+    
+    // Adds or replaces a document. Related lists of the documents it used to collide with
+    // and of those it collides with now are recomputed.
+    // Returns the documents whose related list changed or lists this document, whose title may have changed.
+    public Set<Long> put(long docId, int[] signature) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> affected = new HashSet<>();
+            int[] previous = signatures.remove(docId);
+            if (previous != null) {
+                affected.addAll(candidatesOf(docId, previous));
+                removeFromBuckets(docId, previous);
+            }
+            
+            signatures.put(docId, signature);
+            for (int band = 0; band < BANDS; band++) {
+                buckets.computeIfAbsent(bandKey(signature, band), k -> new HashSet<>()).add(docId);
+            }
+            affected.addAll(candidatesOf(docId, signature));
+            
+            Set<Long> changed = new HashSet<>();
+            rerank(docId, changed);
+            for (Long other : affected) {
+                long[] before = related.get(other);
+                rerank(other, changed);
+                if (before != null && contains(before, docId)) {
+                    changed.add(other);
+                }
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Bulk load for an index that isn't being read yet: every document is bucketed first and then ranked
+    // once, instead of re-ranking all earlier candidates on each put. Documents already present are replaced.
+    public void putAll(Map<Long, int[]> documents) {
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, int[]> document : documents.entrySet()) {
+                int[] previous = signatures.put(document.getKey(), document.getValue());
+                if (previous != null) {
+                    removeFromBuckets(document.getKey(), previous);
+                }
+                for (int band = 0; band < BANDS; band++) {
+                    buckets.computeIfAbsent(bandKey(document.getValue(), band), k -> new HashSet<>()).add(document.getKey());
+                }
+            }
+            for (Map.Entry<Long, int[]> document : signatures.entrySet()) {
+                related.put(document.getKey(), rank(document.getKey(), document.getValue()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // Returns the documents whose related list changed
+    public Set<Long> remove(long docId) {
+        lock.writeLock().lock();
+        try {
+            int[] previous = signatures.remove(docId);
+            related.remove(docId);
+            if (previous == null) {
+                return Set.of();
+            }
+            Set<Long> affected = candidatesOf(docId, previous);
+            removeFromBuckets(docId, previous);
+            Set<Long> changed = new HashSet<>();
+            for (Long other : affected) {
+                rerank(other, changed);
+            }
+            return changed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            signatures.clear();
+            buckets.clear();
+            related.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return signatures.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Most similar documents first
+    public long[] related(long docId) {
+        lock.readLock().lock();
+        try {
+            long[] ids = related.get(docId);
+            return ids != null ? ids : new long[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private void rerank(long docId, Set<Long> changed) {
+        long[] ids = rank(docId, signatures.get(docId));
+        if (!Arrays.equals(ids, related.put(docId, ids))) {
+            changed.add(docId);
+        }
+    }
+    
+    private long[] rank(long docId, int[] signature) {
+        List<Long> candidates = new ArrayList<>();
+        List<Double> similarities = new ArrayList<>();
+        for (Long candidate : candidatesOf(docId, signature)) {
+            double similarity = similarity(signature, signatures.get(candidate));
+            if (similarity >= minSimilarity) {
+                candidates.add(candidate);
+                similarities.add(similarity);
+            }
+        }
+        
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // Higher similarity first, newer document (higher id) on ties
+        Arrays.sort(order, (a, b) -> {
+            int bySimilarity = Double.compare(similarities.get(b), similarities.get(a));
+            return bySimilarity != 0 ? bySimilarity : Long.compare(candidates.get(b), candidates.get(a));
+        });
+        
+        long[] ids = new long[Math.min(relatedSize, order.length)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = candidates.get(order[i]);
+        }
+        return ids;
+    }
+    
+    private Set<Long> candidatesOf(long docId, int[] signature) {
+        Set<Long> candidates = new HashSet<>();
+        for (int band = 0; band < BANDS; band++) {
+            Set<Long> bucket = buckets.get(bandKey(signature, band));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(docId);
+        return candidates;
+    }
+    
+    private void removeFromBuckets(long docId, int[] signature) {
+        for (int band = 0; band < BANDS; band++) {
+            long key = bandKey(signature, band);
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(docId) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+    
+    private static boolean contains(long[] ids, long id) {
+        for (long candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIGNATURE_SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIGNATURE_SIZE;
+    }
+    
+    // The band number is part of the key so equal rows in different bands don't collide
+    private static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int i = band * ROWS; i < (band + 1) * ROWS; i++) {
+            key = mix(key * 31 + signature[i]);
+        }
+        return key;
+    }
+    
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.javablogs.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Positional inverted index over post title and content.
+// Documents get an increasing ordinal when they are added, so every posting list stays sorted.
+// Removed or replaced documents are tombstoned and the postings are compacted once enough of them pile up.
+public class PostIndex {
+    
+    // BM25 parameters
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    
+    private static final int TITLE_BOOST = 3;
+    private static final float PHRASE_BOOST = 1.5f;
+    
+    // Gap between the last title position and the first content position so phrases never span fields
+    private static final int FIELD_GAP = 16;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<Long, Integer> ordinalsByPostId = new HashMap<>();
+    
+    private long[] postIds = new long[64];
+    private int[] docLengths = new int[64];
+    private int[] titleLengths = new int[64];
+    private final BitSet deleted = new BitSet();
+    
+    private int docCount;
+    private int liveCount;
+    private long liveLength;
+    
+    public void add(long postId, String title, String content) {
+        List<String> titleTokens = Tokenizer.tokenize(title);
+        List<String> contentTokens = Tokenizer.tokenize(content);
+        
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+            
+            int ordinal = docCount++;
+            ensureDocCapacity(docCount);
+            postIds[ordinal] = postId;
+            titleLengths[ordinal] = titleTokens.size();
+            docLengths[ordinal] = titleTokens.size() + contentTokens.size();
+            ordinalsByPostId.put(postId, ordinal);
+            liveCount++;
+            liveLength += docLengths[ordinal];
+            
+            Map<String, IntList> positions = new HashMap<>();
+            for (int i = 0; i < titleTokens.size(); i++) {
+                positions.computeIfAbsent(titleTokens.get(i), t -> new IntList()).add(i);
+            }
+            int contentStart = titleTokens.size() + FIELD_GAP;
+            for (int i = 0; i < contentTokens.size(); i++) {
+                positions.computeIfAbsent(contentTokens.get(i), t -> new IntList()).add(contentStart + i);
+            }
+            for (Map.Entry<String, IntList> entry : positions.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), t -> new Postings()).add(ordinal, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void remove(long postId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            ordinalsByPostId.clear();
+            deleted.clear();
+            docCount = 0;
+            liveCount = 0;
+            liveLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // All query terms must match. Hits are ranked by BM25 (title weighted higher than content)
+    // with a boost for documents that contain the query terms as an exact phrase.
+    public Hits search(String query, int offset, int limit) {
+        List<String> queryTerms = Tokenizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Hits.EMPTY;
+        }
+        
+        lock.readLock().lock();
+        try {
+            Postings[] lists = new Postings[queryTerms.size()];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = terms.get(queryTerms.get(i));
+                if (lists[i] == null) {
+                    return Hits.EMPTY;
+                }
+            }
+            
+            // Drive the intersection from the rarest term
+            Postings rarest = lists[0];
+            for (Postings postings : lists) {
+                if (postings.size < rarest.size) {
+                    rarest = postings;
+                }
+            }
+            
+            float avgLength = liveCount == 0 ? 1f : (float) liveLength / liveCount;
+            int[] cursors = new int[lists.length];
+            int[] entries = new int[lists.length];
+            int[] matched = new int[rarest.size];
+            float[] scores = new float[rarest.size];
+            int matchCount = 0;
+            
+            candidates:
+            for (int r = 0; r < rarest.size; r++) {
+                int ordinal = rarest.docs[r];
+                if (deleted.get(ordinal)) {
+                    continue;
+                }
+                for (int i = 0; i < lists.length; i++) {
+                    int entry = lists[i].advance(cursors[i], ordinal);
+                    cursors[i] = entry;
+                    if (entry >= lists[i].size || lists[i].docs[entry] != ordinal) {
+                        continue candidates;
+                    }
+                    entries[i] = entry;
+                }
+                
+                float score = 0f;
+                for (int i = 0; i < lists.length; i++) {
+                    float tf = lists[i].weightedFrequency(entries[i], titleLengths[ordinal]);
+                    float idf = idf(lists[i].size);
+                    float norm = K1 * (1 - B + B * docLengths[ordinal] / avgLength);
+                    score += idf * (tf * (K1 + 1)) / (tf + norm);
+                }
+                if (lists.length > 1 && containsPhrase(lists, entries)) {
+                    score *= PHRASE_BOOST;
+                }
+                matched[matchCount] = ordinal;
+                scores[matchCount] = score;
+                matchCount++;
+            }
+            
+            return rank(matched, scores, matchCount, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    private Hits rank(int[] matched, float[] scores, int matchCount, int offset, int limit) {
+        if (offset >= matchCount) {
+            return new Hits(Collections.emptyList(), matchCount);
+        }
+        
+        Integer[] order = new Integer[matchCount];
+        for (int i = 0; i < matchCount; i++) {
+            order[i] = i;
+        }
+        // Higher score first, newer document (higher ordinal) on ties
+        Arrays.sort(order, (a, b) -> {
+            int byScore = Float.compare(scores[b], scores[a]);
+            return byScore != 0 ? byScore : Integer.compare(matched[b], matched[a]);
+        });
+        
+        int end = Math.min(matchCount, offset + limit);
+        List<Long> ids = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            ids.add(postIds[matched[order[i]]]);
+        }
+        return new Hits(ids, matchCount);
+    }
+    
+    private boolean containsPhrase(Postings[] lists, int[] entries) {
+        int[] first = lists[0].positionsOf(entries[0]);
+        outer:
+        for (int start : first) {
+            for (int i = 1; i < lists.length; i++) {
+                if (Arrays.binarySearch(lists[i].positionsOf(entries[i]), start + i) < 0) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+    
+    // Document frequencies still include tombstoned entries until the next compaction,
+    // so the collection size used here must include them as well
+    private float idf(int docFrequency) {
+        return (float) Math.log(1 + (docCount - docFrequency + 0.5) / (docFrequency + 0.5));
+    }
+    
+    private void removeInternal(long postId) {
+        Integer ordinal = ordinalsByPostId.remove(postId);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        liveCount--;
+        liveLength -= docLengths[ordinal];
+        
+        int deletedCount = docCount - liveCount;
+        if (deletedCount > 64 && deletedCount > liveCount / 4) {
+            compact();
+        }
+    }
+    
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (deleted.get(ordinal)) {
+                remap[ordinal] = -1;
+            } else {
+                remap[ordinal] = next;
+                postIds[next] = postIds[ordinal];
+                docLengths[next] = docLengths[ordinal];
+                titleLengths[next] = titleLengths[ordinal];
+                ordinalsByPostId.put(postIds[next], next);
+                next++;
+            }
+        }
+        docCount = next;
+        deleted.clear();
+        
+        terms.values().removeIf(postings -> postings.compact(remap) == 0);
+    }
+    
+    private void ensureDocCapacity(int capacity) {
+        if (capacity > postIds.length) {
+            int newLength = Math.max(capacity, postIds.length * 2);
+            postIds = Arrays.copyOf(postIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+            titleLengths = Arrays.copyOf(titleLengths, newLength);
+        }
+    }
+    
+    public static class Hits {
+        
+        static final Hits EMPTY = new Hits(Collections.emptyList(), 0);
+        
+        private final List<Long> postIds;
+        private final int total;
+        
+        Hits(List<Long> postIds, int total) {
+            this.postIds = postIds;
+            this.total = total;
+        }
+        
+        public List<Long> getPostIds() {
+            return postIds;
+        }
+        
+        public int getTotal() {
+            return total;
+        }
+    }
+    
+    // Posting list for one term: document ordinals plus a packed array of token positions.
+    // Positions of entry i live in positions[positionStarts[i] .. positionStarts[i + 1]).
+    private static class Postings {
+        
+        private int[] docs = new int[4];
+        private int[] positionStarts = new int[5];
+        private int[] positions = new int[8];
+        private int size;
+        
+        void add(int ordinal, IntList termPositions) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                positionStarts = Arrays.copyOf(positionStarts, size * 2 + 1);
+            }
+            int start = positionStarts[size];
+            int end = start + termPositions.size;
+            if (end > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(end, positions.length * 2));
+            }
+            System.arraycopy(termPositions.values, 0, positions, start, termPositions.size);
+            docs[size] = ordinal;
+            size++;
+            positionStarts[size] = end;
+        }
+        
+        // Index of the first entry at or after 'from' whose ordinal is >= target
+        int advance(int from, int target) {
+            int index = Arrays.binarySearch(docs, from, size, target);
+            return index >= 0 ? index : -index - 1;
+        }
+        
+        int[] positionsOf(int entry) {
+            return Arrays.copyOfRange(positions, positionStarts[entry], positionStarts[entry + 1]);
+        }
+        
+        float weightedFrequency(int entry, int titleLength) {
+            int inTitle = 0;
+            int total = positionStarts[entry + 1] - positionStarts[entry];
+            for (int p = positionStarts[entry]; p < positionStarts[entry + 1] && positions[p] < titleLength; p++) {
+                inTitle++;
+            }
+            return inTitle * TITLE_BOOST + (total - inTitle);
+        }
+        
+        int compact(int[] remap) {
+            int kept = 0;
+            int write = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remap[docs[i]];
+                if (ordinal < 0) {
+                    continue;
+                }
+                int start = positionStarts[i];
+                int end = positionStarts[i + 1];
+                int newStart = write;
+                System.arraycopy(positions, start, positions, write, end - start);
+                write += end - start;
+                docs[kept] = ordinal;
+                positionStarts[kept] = newStart;
+                kept++;
+            }
+            positionStarts[kept] = write;
+            size = kept;
+            return kept;
+        }
+    }
+    
+    private static class IntList {
+        
+        private int[] values = new int[4];
+        private int size;
+        
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
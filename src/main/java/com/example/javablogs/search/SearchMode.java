@@ -0,0 +1,11 @@
+package com.example.javablogs.search;
+
+// How public and author searches are answered (app.search.mode)
+public enum SearchMode {
+    // In-memory PostIndex, falling back to LIKE while it is being built
+    INDEX,
+    // LIKE '%keyword%' over title and content; no ranking
+    LIKE,
+    // MySQL FULLTEXT index with relevance ordering; needs migrations/003_fulltext_search.sql
+    FULLTEXT
+}
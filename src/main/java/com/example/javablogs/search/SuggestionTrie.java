@@ -0,0 +1,366 @@
+package com.example.javablogs.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Radix (path-compressed) trie for typeahead. Every suggestion is stored under the normalized text
+// starting at each of its first words, so "spring" finds "Getting Started with Spring Boot".
+// Each node keeps the top-k suggestions of its subtree, so a lookup is one walk down the prefix
+// and a copy of that node's list. Writes only recompute the top-k lists on the path they touched.
+public class SuggestionTrie {
+    
+    // Keys are cut off here; longer queries are cut the same way and still match
+    private static final int MAX_KEY_LENGTH = 32;
+    private static final int MAX_WORD_STARTS = 8;
+    
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+    
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong((Suggestion s) -> s.score).reversed()
+            .thenComparing(s -> s.text);
+    
+    private final int topK;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private int size;
+    
+    public SuggestionTrie(int topK) {
+        this.topK = topK;
+    }
+    
+    public void add(Suggestion suggestion) {
+        List<String> keys = keysOf(suggestion.text);
+        if (keys.isEmpty()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (String key : keys) {
+                insert(key, suggestion);
+            }
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    // The suggestion must be the instance that was added
+    public void remove(Suggestion suggestion) {
+        List<String> keys = keysOf(suggestion.text);
+        lock.writeLock().lock();
+        try {
+            boolean removed = false;
+            for (String key : keys) {
+                removed |= delete(key, suggestion);
+            }
+            if (removed) {
+                size--;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Nodes below the root, for tests of edge splitting and folding
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return countNodes(root) - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.child(key.charAt(i));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefix(child.edge, key, i);
+                // The prefix may end inside an edge: everything below the edge still matches
+                if (common < child.edge.length() && i + common < key.length()) {
+                    return List.of();
+                }
+                i += common;
+                node = child;
+            }
+            return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    // Lower-cased, accent-free words separated by single spaces, as produced by the search Tokenizer
+    static String normalize(String text) {
+        String joined = String.join(" ", Tokenizer.tokenize(text));
+        return joined.length() > MAX_KEY_LENGTH ? joined.substring(0, MAX_KEY_LENGTH) : joined;
+    }
+    
+    static List<String> keysOf(String text) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        List<String> keys = new ArrayList<>();
+        for (int start = 0; start < tokens.size() && start < MAX_WORD_STARTS; start++) {
+            String key = normalize(String.join(" ", tokens.subList(start, tokens.size())));
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+    
+    private void insert(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.addChild(child);
+                node = child;
+                path.add(node);
+                break;
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (common < child.edge.length()) {
+                child = node.split(child, common);
+            }
+            i += common;
+            node = child;
+            path.add(node);
+        }
+        node.terminal = append(node.terminal, suggestion);
+        refreshTop(path);
+    }
+    
+    private boolean delete(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.child(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return false;
+            }
+            i += child.edge.length();
+            node = child;
+            path.add(node);
+        }
+        
+        int index = indexOf(node.terminal, suggestion);
+        if (index < 0) {
+            return false;
+        }
+        node.terminal = without(node.terminal, index);
+        
+        // Drop the node if it is now empty and fold a remaining single child back into its parent
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (current.terminal.length == 0 && current.children.length == 0) {
+                parent.removeChild(current);
+                path.remove(depth);
+            } else if (current.terminal.length == 0 && current.children.length == 1) {
+                Node only = current.children[0];
+                only.edge = current.edge + only.edge;
+                parent.replaceChild(current, only);
+                path.set(depth, only);
+            }
+        }
+        refreshTop(path);
+        return true;
+    }
+    
+    // Bottom-up, so every node merges the already refreshed lists of its children
+    private void refreshTop(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminal));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            candidates.sort(RANKING);
+            
+            List<Suggestion> top = new ArrayList<>(topK);
+            for (Suggestion candidate : candidates) {
+                if (top.size() == topK) {
+                    break;
+                }
+                // The same suggestion can sit under several word starts of one subtree
+                if (!top.contains(candidate)) {
+                    top.add(candidate);
+                }
+            }
+            node.top = top.toArray(NO_SUGGESTIONS);
+        }
+    }
+    
+    private static int countNodes(Node node) {
+        int count = 1;
+        for (Node child : node.children) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+    
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+    
+    private static int indexOf(Suggestion[] suggestions, Suggestion suggestion) {
+        for (int i = 0; i < suggestions.length; i++) {
+            if (suggestions[i] == suggestion) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] result = Arrays.copyOf(suggestions, suggestions.length + 1);
+        result[suggestions.length] = suggestion;
+        return result;
+    }
+    
+    private static Suggestion[] without(Suggestion[] suggestions, int index) {
+        Suggestion[] result = new Suggestion[suggestions.length - 1];
+        System.arraycopy(suggestions, 0, result, 0, index);
+        System.arraycopy(suggestions, index + 1, result, index, result.length - index);
+        return result;
+    }
+    
+    public static class Suggestion {
+        
+        public enum Type {
+            POST,
+            AUTHOR
+        }
+        
+        private final Type type;
+        private final long id;
+        private final String text;
+        private final long score;
+        
+        public Suggestion(Type type, long id, String text, long score) {
+            this.type = type;
+            this.id = id;
+            this.text = text;
+            this.score = score;
+        }
+        
+        public Type getType() {
+            return type;
+        }
+        
+        public long getId() {
+            return id;
+        }
+        
+        public String getText() {
+            return text;
+        }
+        
+        public long getScore() {
+            return score;
+        }
+    }
+    
+    // Children are kept sorted by the first character of their edge and found by binary search
+    private static class Node {
+        
+        private String edge;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] terminal = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+        
+        Node(String edge) {
+            this.edge = edge;
+        }
+        
+        Node child(char c) {
+            int index = search(c);
+            return index >= 0 ? children[index] : null;
+        }
+        
+        void addChild(Node child) {
+            int index = -search(child.edge.charAt(0)) - 1;
+            Node[] result = new Node[children.length + 1];
+            System.arraycopy(children, 0, result, 0, index);
+            result[index] = child;
+            System.arraycopy(children, index, result, index + 1, children.length - index);
+            children = result;
+        }
+        
+        void removeChild(Node child) {
+            int index = search(child.edge.charAt(0));
+            Node[] result = new Node[children.length - 1];
+            System.arraycopy(children, 0, result, 0, index);
+            System.arraycopy(children, index + 1, result, index, result.length - index);
+            children = result;
+        }
+        
+        // The replacement must start with the same character
+        void replaceChild(Node child, Node replacement) {
+            children[search(child.edge.charAt(0))] = replacement;
+        }
+        
+        // Inserts a node holding the first 'length' characters of the child's edge between this node and the child
+        Node split(Node child, int length) {
+            int index = search(child.edge.charAt(0));
+            Node middle = new Node(child.edge.substring(0, length));
+            child.edge = child.edge.substring(length);
+            middle.children = new Node[] {child};
+            middle.top = child.top;
+            children[index] = middle;
+            return middle;
+        }
+        
+        private int search(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].edge.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
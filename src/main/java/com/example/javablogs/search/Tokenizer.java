@@ -0,0 +1,42 @@
+package com.example.javablogs.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Tokenizer {
+    
+    private static final int MAX_TOKEN_LENGTH = 40;
+    
+    private Tokenizer() {}
+    
+    // Lower-cases, strips accents and splits on anything that is not a letter or digit.
+    // Token order is preserved so callers can use the list index as the token position.
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKD);
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (current.length() < MAX_TOKEN_LENGTH) {
+                    current.append(Character.toLowerCase(c));
+                }
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+}
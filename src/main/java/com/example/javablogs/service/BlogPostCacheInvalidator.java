@@ -0,0 +1,71 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.config.CacheConfig;
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.event.UserChangedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnit;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+public class BlogPostCacheInvalidator {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+    
+    @EventListener
+    public void onBlogPostChanged(BlogPostChangedEvent event) {
+        Cache posts = cacheManager.getCache(CacheConfig.POSTS);
+        if (posts != null) {
+            posts.evict(event.getPostId());
+        }
+        
+        // Any change to a published post can shift or alter every listing page
+        Cache pages = cacheManager.getCache(CacheConfig.POST_PAGES);
+        if (pages != null && event.affectsPublicListings()) {
+            pages.clear();
+        }
+    }
+    
+    // Cached posts carry their author and listing summaries the author's full name.
+    // Runs first, so the page cache and validators refreshed by the other listeners don't re-render stale entries.
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() == UserChangedEvent.Type.CREATED) {
+            return;
+        }
+        Cache posts = cacheManager.getCache(CacheConfig.POSTS);
+        if (posts != null) {
+            posts.clear();
+        }
+        Cache pages = cacheManager.getCache(CacheConfig.POST_PAGES);
+        if (pages != null) {
+            pages.clear();
+        }
+    }
+    
+    @EventListener(BlogPostsImportedEvent.class)
+    public void onBlogPostsImported() {
+        Cache pages = cacheManager.getCache(CacheConfig.POST_PAGES);
+        if (pages != null) {
+            pages.clear();
+        }
+        
+        // Imports insert through JDBC, which Hibernate's query cache does not see
+        entityManagerFactory.getCache().evict(BlogPost.class);
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
@@ -1,30 +1,121 @@
 package com.example.javablogs.service;
 
+import com.example.javablogs.concurrent.SingleFlight;
+import com.example.javablogs.config.CacheConfig;
+import com.example.javablogs.dto.AdminPostFilter;
+import com.example.javablogs.dto.PostSummary;
 import com.example.javablogs.entity.BlogPost;
 import com.example.javablogs.entity.User;
+import com.example.javablogs.event.AfterCommit;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.pagination.CursorPage;
+import com.example.javablogs.pagination.KeysetCursor;
+import com.example.javablogs.pagination.PostCursor;
 import com.example.javablogs.repository.BlogPostRepository;
+import com.example.javablogs.search.PostIndex;
+import com.example.javablogs.search.SearchMode;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+// Reads run in read-only transactions, which go to the replica when one is configured
 @Service
+@Transactional(readOnly = true)
 public class BlogPostService {
     
+    private static final int MAX_ADMIN_PAGE_SIZE = 100;
+    
     @Autowired
     private BlogPostRepository blogPostRepository;
     
+    @Autowired
+    private PostSearchService postSearchService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.search.mode:index}")
+    private SearchMode searchMode;
+    
+    // Concurrent cache misses for the same page or post share one query. These reads run outside a
+    // service transaction (the repository opens its own) so waiting callers don't hold a connection.
+    private final SingleFlight<String, Page<PostSummary>> pageLoads;
+    private final SingleFlight<String, CursorPage<PostSummary>> cursorPageLoads;
+    private final SingleFlight<Long, Optional<BlogPost>> postLoads;
+    private final SingleFlight<Long, Optional<LocalDateTime>> lastModifiedLoads;
+    
+    public BlogPostService(MeterRegistry meterRegistry,
+                           @Value("${app.single-flight.timeout:PT5S}") Duration timeout) {
+        this.pageLoads = new SingleFlight<>("post-page", timeout, meterRegistry);
+        this.cursorPageLoads = new SingleFlight<>("post-cursor-page", timeout, meterRegistry);
+        this.postLoads = new SingleFlight<>("post", timeout, meterRegistry);
+        this.lastModifiedLoads = new SingleFlight<>("post-last-modified", timeout, meterRegistry);
+    }
+    
     public List<BlogPost> getAllBlogPosts() {
         return blogPostRepository.findAll();
     }
     
-    public Page<BlogPost> getPublishedBlogPosts(int page, int size) {
+    public CursorPage<PostSummary> getAdminPosts(AdminPostFilter filter) {
+        int size = Math.min(Math.max(filter.getSize(), 1), MAX_ADMIN_PAGE_SIZE);
+        String sort = filter.getSort().name();
+        KeysetCursor after = KeysetCursor.decode(filter.getCursor(), sort, filter.getSort() != AdminPostFilter.Sort.TITLE);
+        
+        List<PostSummary> posts = blogPostRepository.findAdminPage(filter, after, size + 1);
+        if (posts.size() <= size) {
+            return new CursorPage<>(posts, null);
+        }
+        List<PostSummary> content = posts.subList(0, size);
+        PostSummary last = content.get(size - 1);
+        String value = filter.getSort() == AdminPostFilter.Sort.TITLE ? last.getTitle() : last.getCreatedAt().toString();
+        return new CursorPage<>(content, new KeysetCursor(sort, value, last.getId()).encode());
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.POST_PAGES, key = "'page:' + #page + ':' + #size")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Page<PostSummary> getPublishedBlogPosts(int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return blogPostRepository.findByPublishedTrueOrderByCreatedAtDesc(pageable);
+        return pageLoads.execute(page + ":" + size, () -> blogPostRepository.findPublishedSummaries(pageable));
+    }
+    
+    @Cacheable(cacheNames = CacheConfig.POST_PAGES, key = "'cursor:' + T(com.example.javablogs.pagination.PostCursor).keyOf(#cursor) + ':' + #size")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CursorPage<PostSummary> getPublishedBlogPosts(String cursor, int size) {
+        return cursorPageLoads.execute(PostCursor.keyOf(cursor) + ":" + size, () -> loadPublishedBlogPosts(cursor, size));
+    }
+    
+    private CursorPage<PostSummary> loadPublishedBlogPosts(String cursor, int size) {
+        // Fetch one extra row to find out whether there is a next page
+        Pageable pageable = PageRequest.of(0, size + 1);
+        PostCursor position = PostCursor.decode(cursor);
+        List<PostSummary> posts = position == null
+                ? blogPostRepository.findFirstPublishedPosts(pageable)
+                : blogPostRepository.findPublishedPostsBefore(position.getCreatedAt(), position.getId(), pageable);
+        
+        if (posts.size() <= size) {
+            return new CursorPage<>(posts, null);
+        }
+        List<PostSummary> content = posts.subList(0, size);
+        PostSummary last = content.get(size - 1);
+        return new CursorPage<>(content, new PostCursor(last.getCreatedAt(), last.getId()).encode());
     }
     
     public List<BlogPost> getBlogPostsByAuthor(User author) {
@@ -39,34 +130,84 @@ public class BlogPostService {
         return blogPostRepository.findById(id);
     }
     
+    // Read path for the public detail page; cached entries are evicted by BlogPostCacheInvalidator
+    @Cacheable(cacheNames = CacheConfig.POSTS, key = "#id")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<BlogPost> getBlogPostWithAuthor(Long id) {
+        return postLoads.execute(id, () -> blogPostRepository.findWithAuthorById(id));
+    }
+    
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<LocalDateTime> getLastModified(Long id) {
+        return lastModifiedLoads.execute(id, () -> blogPostRepository.findUpdatedAtById(id));
+    }
+    
+    @Transactional
     public BlogPost createBlogPost(BlogPost blogPost, User author) {
         blogPost.setAuthor(author);
-        return blogPostRepository.save(blogPost);
+        BlogPost saved = blogPostRepository.save(blogPost);
+        AfterCommit.publish(eventPublisher, BlogPostChangedEvent.created(saved));
+        return saved;
     }
     
+    @Transactional
     public BlogPost updateBlogPost(Long id, BlogPost blogPostDetails) {
         BlogPost blogPost = blogPostRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Blog post not found"));
+        boolean previouslyPublished = blogPost.isPublished();
         
         blogPost.setTitle(blogPostDetails.getTitle());
         blogPost.setContent(blogPostDetails.getContent());
         blogPost.setPublished(blogPostDetails.isPublished());
         
-        return blogPostRepository.save(blogPost);
+        BlogPost saved = blogPostRepository.save(blogPost);
+        AfterCommit.publish(eventPublisher, BlogPostChangedEvent.updated(saved, previouslyPublished));
+        return saved;
     }
     
+    @Transactional
     public void deleteBlogPost(Long id) {
         BlogPost blogPost = blogPostRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Blog post not found"));
         blogPostRepository.delete(blogPost);
+        AfterCommit.publish(eventPublisher, BlogPostChangedEvent.deleted(blogPost));
     }
     
-    public Page<BlogPost> searchPublishedPosts(String keyword, int page, int size) {
+    public Page<PostSummary> searchPublishedPosts(String keyword, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        return blogPostRepository.searchPublishedPosts(keyword, pageable);
+        if (searchMode == SearchMode.FULLTEXT) {
+            Page<Long> ids = blogPostRepository.searchPublishedPostIdsFullText(keyword, pageable);
+            return new PageImpl<>(findSummariesInOrder(ids.getContent()), pageable, ids.getTotalElements());
+        }
+        if (searchMode == SearchMode.LIKE || !postSearchService.isReady()) {
+            // In INDEX mode this covers the time the index is still being built at startup
+            return blogPostRepository.searchPublishedPosts(keyword, pageable);
+        }
+        
+        PostIndex.Hits hits = postSearchService.search(keyword, (int) pageable.getOffset(), size);
+        List<PostSummary> posts = findSummariesInOrder(hits.getPostIds());
+        return new PageImpl<>(posts, pageable, hits.getTotal());
+    }
+    
+    // Loads the given posts with a single query and returns them in the order of the ids
+    private List<PostSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> positions = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return blogPostRepository.findSummariesByIdIn(ids).stream()
+                .filter(PostSummary::isPublished)
+                .sorted(Comparator.comparing(post -> positions.get(post.getId())))
+                .collect(Collectors.toList());
     }
     
     public List<BlogPost> searchPostsByAuthor(User author, String keyword) {
+        if (searchMode == SearchMode.FULLTEXT) {
+            return blogPostRepository.searchPostsByAuthorFullText(author.getId(), keyword);
+        }
         return blogPostRepository.searchPostsByAuthor(author, keyword);
     }
     
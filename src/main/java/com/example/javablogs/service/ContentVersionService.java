@@ -0,0 +1,85 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.event.RelatedPostsChangedEvent;
+import com.example.javablogs.event.UserChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Validators for conditional GETs on the public blog pages.
+// Post pages are versioned by their updatedAt plus counters for author and related post changes;
+// listings and search results by a counter that every change to a published post bumps. The counters
+// live in memory, so each ETag also carries the startup time and a restart can never reuse a tag for different content.
+@Service
+public class ContentVersionService {
+    
+    private final long epoch = System.currentTimeMillis();
+    
+    private final AtomicLong listingVersion = new AtomicLong();
+    private volatile long listingLastModified = epoch;
+    
+    // Author names are rendered on post pages, so renaming an author changes every post page
+    private final AtomicLong authorVersion = new AtomicLong();
+    private volatile long authorLastModified = epoch;
+    
+    // Related posts are rendered on post pages too
+    private final AtomicLong relatedVersion = new AtomicLong();
+    private volatile long relatedLastModified = epoch;
+    
+    public String listingETag() {
+        return "\"list-" + epoch + "-" + listingVersion.get() + "\"";
+    }
+    
+    public long listingLastModified() {
+        return listingLastModified;
+    }
+    
+    public String postETag(Long postId, LocalDateTime updatedAt) {
+        return "\"post-" + postId + "-" + toEpochMillis(updatedAt) + "-" + epoch + "-" + authorVersion.get()
+                + "-" + relatedVersion.get() + "\"";
+    }
+    
+    public long postLastModified(LocalDateTime updatedAt) {
+        return Math.max(toEpochMillis(updatedAt), Math.max(authorLastModified, relatedLastModified));
+    }
+    
+    @EventListener
+    public void onBlogPostChanged(BlogPostChangedEvent event) {
+        if (event.affectsPublicListings()) {
+            listingLastModified = System.currentTimeMillis();
+            listingVersion.incrementAndGet();
+        }
+    }
+    
+    @EventListener(BlogPostsImportedEvent.class)
+    public void onBlogPostsImported() {
+        listingLastModified = System.currentTimeMillis();
+        listingVersion.incrementAndGet();
+    }
+    
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getType() != UserChangedEvent.Type.CREATED) {
+            long now = System.currentTimeMillis();
+            authorLastModified = now;
+            authorVersion.incrementAndGet();
+            listingLastModified = now;
+            listingVersion.incrementAndGet();
+        }
+    }
+    
+    @EventListener(RelatedPostsChangedEvent.class)
+    public void onRelatedPostsChanged() {
+        relatedLastModified = System.currentTimeMillis();
+        relatedVersion.incrementAndGet();
+    }
+    
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
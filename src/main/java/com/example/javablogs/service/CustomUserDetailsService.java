@@ -1,31 +1,119 @@
 package com.example.javablogs.service;
 
+import com.example.javablogs.config.ReplicaRoutingDataSource;
+import com.example.javablogs.entity.Role;
 import com.example.javablogs.entity.User;
+import com.example.javablogs.event.UserChangedEvent;
 import com.example.javablogs.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Locale;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
     
     @Autowired
     private UserRepository userRepository;
     
+    private final Cache<String, CachedUser> cache;
+    private final TransactionTemplate readTransaction;
+    
+    public CustomUserDetailsService(PlatformTransactionManager transactionManager,
+                                    @Value("${app.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${app.security.user-cache.ttl:5m}") Duration ttl) {
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+    
+    // Cache hits don't start a transaction or borrow a connection
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        // Unknown usernames are not cached: the loader throws and Caffeine stores nothing
+        CachedUser user = cache.get(keyOf(username), key -> loadFromDatabase(username));
+        return user.toUserDetails();
+    }
+    
+    // Called by DaoAuthenticationProvider after a successful login when the stored hash
+    // uses a lower BCrypt cost than the configured encoder
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userDetails.getUsername()));
+        user.setPassword(newPassword);
+        userRepository.save(user);
+        
+        CachedUser updated = new CachedUser(user.getUsername(), newPassword, user.getRole());
+        cache.put(keyOf(user.getUsername()), updated);
+        return updated.toUserDetails();
+    }
+    
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.getPreviousUsername() != null) {
+            cache.invalidate(keyOf(event.getPreviousUsername()));
+        }
+        cache.invalidate(keyOf(event.getUser().getUsername()));
+    }
+    
+    public Cache<String, ?> getCache() {
+        return cache;
+    }
+    
+    // The database compares usernames case-insensitively, so "ADMIN" logs in as "admin"; every case variant
+    // must share one entry or invalidating the stored username would leave the others behind
+    private static String keyOf(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+    
+    // Read from the primary so a changed password works before the replica has caught up
+    private CachedUser loadFromDatabase(String username) {
+        User user = ReplicaRoutingDataSource.onPrimary(() ->
+                        readTransaction.execute(status -> userRepository.findByUsername(username)))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        return new CachedUser(user.getUsername(), user.getPassword(), user.getRole());
+    }
+    
+    // Spring Security erases the password of the UserDetails it authenticated, so the cache keeps
+    // its own immutable copy and hands out a fresh UserDetails on every lookup
+    private static class CachedUser {
+        
+        private final String username;
+        private final String password;
+        private final Role role;
+        
+        CachedUser(String username, String password, Role role) {
+            this.username = username;
+            this.password = password;
+            this.role = role;
+        }
         
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        UserDetails toUserDetails() {
+            return new org.springframework.security.core.userdetails.User(
+                    username,
+                    password,
+                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()))
+            );
+        }
     }
 }
@@ -0,0 +1,172 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.dto.DashboardStats;
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.dto.UserSummary;
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.event.UserChangedEvent;
+import com.example.javablogs.repository.BlogPostRepository;
+import com.example.javablogs.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Keeps the admin dashboard numbers in memory. Counters and the "recent" lists are adjusted from
+// post/user change events and periodically reconciled against the database to correct any drift.
+@Service
+public class DashboardStatsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(DashboardStatsService.class);
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    
+    @Value("${app.stats.recent-size:5}")
+    private int recentSize;
+    
+    private long totalUsers;
+    private long totalPosts;
+    private long publishedPosts;
+    private List<UserSummary> recentUsers = List.of();
+    private List<PostSummary> recentPosts = List.of();
+    
+    // Immutable view handed to readers; replaced on every change
+    private volatile DashboardStats snapshot;
+    
+    public DashboardStats getStats() {
+        DashboardStats current = snapshot;
+        if (current == null) {
+            reconcile();
+            current = snapshot;
+        }
+        return current;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT5M}", initialDelayString = "${app.stats.reconcile-interval:PT5M}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        load();
+    }
+    
+    // Not read-only, so the counts come from the primary even if a replica hasn't received the imported rows yet
+    @EventListener(BlogPostsImportedEvent.class)
+    @Transactional
+    public void onBlogPostsImported() {
+        load();
+    }
+    
+    private void load() {
+        long users = userRepository.count();
+        long posts = blogPostRepository.count();
+        long published = blogPostRepository.countByPublishedTrue();
+        List<UserSummary> latestUsers = userRepository.findRecentSummaries(PageRequest.of(0, recentSize));
+        List<PostSummary> latestPosts = blogPostRepository.findRecentSummaries(PageRequest.of(0, recentSize));
+        
+        synchronized (this) {
+            if (snapshot != null && (users != totalUsers || posts != totalPosts || published != publishedPosts)) {
+                logger.info("Dashboard counters drifted and were reconciled: users {} -> {}, posts {} -> {}, published {} -> {}",
+                        totalUsers, users, totalPosts, posts, publishedPosts, published);
+            }
+            totalUsers = users;
+            totalPosts = posts;
+            publishedPosts = published;
+            recentUsers = latestUsers;
+            recentPosts = latestPosts;
+            publish();
+        }
+    }
+    
+    @EventListener
+    public synchronized void onBlogPostChanged(BlogPostChangedEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        BlogPost post = event.getBlogPost();
+        switch (event.getType()) {
+            case CREATED -> {
+                totalPosts++;
+                if (post.isPublished()) {
+                    publishedPosts++;
+                }
+                List<PostSummary> posts = new ArrayList<>(recentPosts);
+                posts.add(0, PostSummary.of(post, post.getAuthor().getFullName()));
+                recentPosts = trim(posts);
+            }
+            case UPDATED -> {
+                if (post.isPublished() != event.isPreviouslyPublished()) {
+                    publishedPosts += post.isPublished() ? 1 : -1;
+                }
+                List<PostSummary> posts = new ArrayList<>(recentPosts);
+                posts.replaceAll(summary -> summary.getId().equals(post.getId())
+                        ? PostSummary.of(post, summary.getAuthorFullName()) : summary);
+                recentPosts = posts;
+            }
+            case DELETED -> {
+                totalPosts--;
+                if (event.isPreviouslyPublished()) {
+                    publishedPosts--;
+                }
+                List<PostSummary> posts = new ArrayList<>(recentPosts);
+                if (posts.removeIf(summary -> summary.getId().equals(post.getId()))) {
+                    // The list can only be refilled from the database
+                    recentPosts = blogPostRepository.findRecentSummaries(PageRequest.of(0, recentSize));
+                }
+            }
+        }
+        publish();
+    }
+    
+    @EventListener
+    public synchronized void onUserChanged(UserChangedEvent event) {
+        if (snapshot == null) {
+            return;
+        }
+        UserSummary user = UserSummary.of(event.getUser());
+        switch (event.getType()) {
+            case CREATED -> {
+                totalUsers++;
+                List<UserSummary> users = new ArrayList<>(recentUsers);
+                users.add(0, user);
+                recentUsers = trim(users);
+            }
+            case UPDATED -> {
+                List<UserSummary> users = new ArrayList<>(recentUsers);
+                users.replaceAll(summary -> summary.getId().equals(user.getId()) ? user : summary);
+                recentUsers = users;
+            }
+            case DELETED -> {
+                totalUsers--;
+                List<UserSummary> users = new ArrayList<>(recentUsers);
+                if (users.removeIf(summary -> summary.getId().equals(user.getId()))) {
+                    recentUsers = userRepository.findRecentSummaries(PageRequest.of(0, recentSize));
+                }
+            }
+        }
+        publish();
+    }
+    
+    private <T> List<T> trim(List<T> list) {
+        return list.size() > recentSize ? new ArrayList<>(list.subList(0, recentSize)) : list;
+    }
+    
+    private void publish() {
+        snapshot = new DashboardStats(totalUsers, totalPosts, publishedPosts,
+                List.copyOf(recentUsers), List.copyOf(recentPosts));
+    }
+}
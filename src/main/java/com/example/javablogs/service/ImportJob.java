@@ -0,0 +1,120 @@
+package com.example.javablogs.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Progress of one bulk import, polled by the admin UI while the pipeline runs
+public class ImportJob {
+    
+    public enum Status {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+    
+    private static final int MAX_ERRORS = 100;
+    
+    private final String id = UUID.randomUUID().toString();
+    private final String filename;
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile Status status = Status.RUNNING;
+    private volatile String failure;
+    
+    private final AtomicLong read = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+    
+    ImportJob(String filename) {
+        this.filename = filename;
+    }
+    
+    void recordRead() {
+        read.incrementAndGet();
+    }
+    
+    void recordImported(int count) {
+        imported.addAndGet(count);
+    }
+    
+    // Only the first errors are kept; the rest are counted
+    void recordRejected(long line, String reason) {
+        rejected.incrementAndGet();
+        if (errors.size() < MAX_ERRORS) {
+            errors.add("Line " + line + ": " + reason);
+        }
+    }
+    
+    void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+    
+    void fail(String message) {
+        failure = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getFilename() {
+        return filename;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+    
+    public String getFailure() {
+        return failure;
+    }
+    
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+    
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+    
+    public long getRead() {
+        return read.get();
+    }
+    
+    public long getImported() {
+        return imported.get();
+    }
+    
+    public long getRejected() {
+        return rejected.get();
+    }
+    
+    public List<String> getErrors() {
+        synchronized (errors) {
+            return List.copyOf(errors);
+        }
+    }
+    
+    public long getElapsedMillis() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+    
+    public long getPostsPerSecond() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0 : imported.get() * 1000 / elapsed;
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.dto.PostImportRecord;
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Bulk import of NDJSON post archives.
+//
+// One reader thread parses and validates lines and hands them to a bounded queue. When the
+// writers fall behind, the queue fills up and the reader blocks, so memory stays bounded no
+// matter how large the file is. Writer threads resolve authors (cached per job) and insert
+// batches with JdbcTemplate. BlogPost ids are IDENTITY, which rules out Hibernate's JDBC
+// batching, so rows go through plain JDBC batches instead. With rewriteBatchedStatements=true
+// on the connection URL, Connector/J sends each batch as a multi-row INSERT.
+@Service
+public class PostImportService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostImportService.class);
+    
+    private static final String INSERT_SQL = "INSERT INTO blog_posts "
+            + "(title, content, excerpt, word_count, reading_minutes, author_id, created_at, updated_at, is_published) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // Tells a writer that the reader is done; one is queued per writer
+    private static final PostImportRecord END = new PostImportRecord();
+    
+    private static final long UNKNOWN_AUTHOR = -1L;
+    private static final int MAX_REMEMBERED_JOBS = 20;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.import.batch-size:1000}")
+    private int batchSize;
+    
+    // 0 means two batches per writer thread
+    @Value("${app.import.queue-capacity:0}")
+    private int queueCapacity;
+    
+    @Value("${app.import.writer-threads:2}")
+    private int writerThreads;
+    
+    private final ExecutorService executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("post-import-"));
+    
+    // Only one import runs at a time so an import can't take every database connection
+    private final AtomicReference<ImportJob> running = new AtomicReference<>();
+    
+    private final Map<String, ImportJob> jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ImportJob> eldest) {
+            return size() > MAX_REMEMBERED_JOBS;
+        }
+    });
+    
+    public ImportJob startImport(MultipartFile file) throws IOException {
+        // The multipart upload is deleted when the request ends, so keep a copy for the pipeline
+        Path upload = Files.createTempFile("post-import-", ".ndjson");
+        file.transferTo(upload);
+        
+        ImportJob job = new ImportJob(file.getOriginalFilename());
+        if (!running.compareAndSet(null, job)) {
+            Files.deleteIfExists(upload);
+            throw new IllegalStateException("Another import is still running");
+        }
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, upload));
+        return job;
+    }
+    
+    public Optional<ImportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+    
+    public List<ImportJob> getRecentJobs() {
+        synchronized (jobs) {
+            List<ImportJob> recent = new ArrayList<>(jobs.values());
+            Collections.reverse(recent);
+            return recent;
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private void run(ImportJob job, Path upload) {
+        int capacity = queueCapacity > 0 ? queueCapacity : 2 * batchSize * writerThreads;
+        BlockingQueue<PostImportRecord> queue = new ArrayBlockingQueue<>(capacity);
+        Map<String, Long> authorIds = new ConcurrentHashMap<>();
+        List<Future<?>> writers = new ArrayList<>();
+        try {
+            for (int i = 0; i < writerThreads; i++) {
+                writers.add(executor.submit(() -> {
+                    try {
+                        write(job, queue, authorIds);
+                    } catch (RuntimeException e) {
+                        // Fail the job right away so the reader stops waiting for queue space
+                        job.fail(e.getMessage());
+                        throw e;
+                    }
+                    return null;
+                }));
+            }
+            read(job, upload, queue);
+            for (int i = 0; i < writerThreads; i++) {
+                enqueue(queue, END, job);
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+            job.complete();
+        } catch (ExecutionException e) {
+            job.fail(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.fail("Import was interrupted");
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+        } finally {
+            writers.forEach(writer -> writer.cancel(true));
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                logger.warn("Could not delete import file {}", upload, e);
+            }
+            running.set(null);
+        }
+        
+        logger.info("Import of {} {}: {} imported, {} rejected in {} ms ({} posts/s)", job.getFilename(),
+                job.getStatus(), job.getImported(), job.getRejected(), job.getElapsedMillis(), job.getPostsPerSecond());
+        if (job.getImported() > 0) {
+            eventPublisher.publishEvent(new BlogPostsImportedEvent(job.getImported()));
+        }
+    }
+    
+    // Parse and validate; anything that can't be imported is reported with its line number
+    private void read(ImportJob job, Path upload, BlockingQueue<PostImportRecord> queue) throws IOException, InterruptedException {
+        try (BufferedReader reader = Files.newBufferedReader(upload, StandardCharsets.UTF_8)) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                job.recordRead();
+                
+                PostImportRecord record;
+                try {
+                    record = objectMapper.readValue(line, PostImportRecord.class);
+                } catch (JsonProcessingException e) {
+                    job.recordRejected(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+                    continue;
+                }
+                record.setLine(lineNumber);
+                
+                Set<ConstraintViolation<PostImportRecord>> violations = validator.validate(record);
+                if (!violations.isEmpty()) {
+                    job.recordRejected(lineNumber, violations.iterator().next().getMessage());
+                    continue;
+                }
+                if (!enqueue(queue, record, job)) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    // Blocks while the queue is full (back-pressure) but gives up if the job failed meanwhile
+    private boolean enqueue(BlockingQueue<PostImportRecord> queue, PostImportRecord record, ImportJob job) throws InterruptedException {
+        while (!queue.offer(record, 1, TimeUnit.SECONDS)) {
+            if (job.isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void write(ImportJob job, BlockingQueue<PostImportRecord> queue, Map<String, Long> authorIds) throws InterruptedException {
+        List<PostImportRecord> batch = new ArrayList<>(batchSize);
+        while (!job.isFinished()) {
+            PostImportRecord record = queue.poll(200, TimeUnit.MILLISECONDS);
+            if (record == END) {
+                insert(job, batch, authorIds);
+                return;
+            }
+            if (record != null) {
+                batch.add(record);
+            }
+            // Flush full batches, and partial ones whenever the reader is slower than the database
+            if (batch.size() >= batchSize || (record == null && !batch.isEmpty())) {
+                insert(job, batch, authorIds);
+            }
+        }
+    }
+    
+    private void insert(ImportJob job, List<PostImportRecord> batch, Map<String, Long> authorIds) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        resolveAuthors(batch, authorIds);
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PostImportRecord record : batch) {
+            long authorId = authorIds.get(record.getAuthor());
+            if (authorId == UNKNOWN_AUTHOR) {
+                job.recordRejected(record.getLine(), "Unknown author '" + record.getAuthor() + "'");
+                continue;
+            }
+            int wordCount = BlogPost.wordCountOf(record.getContent());
+            Timestamp createdAt = Timestamp.valueOf(record.getCreatedAt() != null ? record.getCreatedAt() : now);
+            rows.add(new Object[] {
+                    record.getTitle(),
+                    record.getContent(),
+                    BlogPost.excerptOf(record.getContent()),
+                    wordCount,
+                    BlogPost.readingMinutesOf(wordCount),
+                    authorId,
+                    createdAt,
+                    createdAt,
+                    record.isPublished()
+            });
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            job.recordImported(rows.size());
+        }
+        batch.clear();
+    }
+    
+    // Looks up the usernames this job hasn't seen yet in a single query; misses are cached too
+    private void resolveAuthors(List<PostImportRecord> batch, Map<String, Long> authorIds) {
+        Set<String> missing = new HashSet<>();
+        for (PostImportRecord record : batch) {
+            if (!authorIds.containsKey(record.getAuthor())) {
+                missing.add(record.getAuthor());
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (Object[] row : userRepository.findIdsByUsernameIn(missing)) {
+            authorIds.put((String) row[0], (Long) row[1]);
+            missing.remove((String) row[0]);
+        }
+        for (String username : missing) {
+            authorIds.putIfAbsent(username, UNKNOWN_AUTHOR);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.repository.BlogPostRepository;
+import com.example.javablogs.search.PostIndex;
+import com.example.javablogs.search.SearchMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+public class PostSearchService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostSearchService.class);
+    
+    private static final int LOAD_BATCH_SIZE = 500;
+    
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    
+    // The index is only kept in memory when searches use it
+    @Value("${app.search.mode:index}")
+    private SearchMode searchMode;
+    
+    private volatile PostIndex index = new PostIndex();
+    
+    // Searches fall back to the database until the first build is complete
+    private volatile boolean ready = false;
+    
+    // Built on the side and swapped in, so searches keep using the previous index during a rebuild.
+    // Synchronized with onBlogPostChanged so a change can't land in the old index while the new one is built.
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void buildIndex() {
+        if (searchMode != SearchMode.INDEX) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        PostIndex newIndex = new PostIndex();
+        
+        Long lastId = 0L;
+        List<BlogPost> batch;
+        do {
+            batch = blogPostRepository.findTop500ByPublishedTrueAndIdGreaterThanOrderByIdAsc(lastId);
+            for (BlogPost post : batch) {
+                newIndex.add(post.getId(), post.getTitle(), post.getContent());
+                lastId = post.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        
+        index = newIndex;
+        ready = true;
+        logger.info("Search index built with {} posts in {} ms", newIndex.size(), System.currentTimeMillis() - start);
+    }
+    
+    public boolean isReady() {
+        return ready;
+    }
+    
+    public PostIndex.Hits search(String keyword, int offset, int limit) {
+        return index.search(keyword, offset, limit);
+    }
+    
+    // Bulk imports don't publish per-post events
+    @EventListener(BlogPostsImportedEvent.class)
+    public void onBlogPostsImported() {
+        buildIndex();
+    }
+    
+    @EventListener
+    public synchronized void onBlogPostChanged(BlogPostChangedEvent event) {
+        if (searchMode != SearchMode.INDEX) {
+            return;
+        }
+        if (event.isPublished()) {
+            BlogPost post = event.getBlogPost();
+            index.add(post.getId(), post.getTitle(), post.getContent());
+        } else {
+            index.remove(event.getPostId());
+        }
+    }
+}
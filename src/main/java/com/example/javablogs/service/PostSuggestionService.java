@@ -0,0 +1,178 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.entity.User;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.event.UserChangedEvent;
+import com.example.javablogs.search.SuggestionTrie;
+import com.example.javablogs.search.SuggestionTrie.Suggestion;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Typeahead over published post titles and author names, answered from a SuggestionTrie without touching the database.
+// Posts rank by their stored view count and authors by the views of all their published posts.
+// Post writes update the trie in place; the periodic rebuild picks up new view counts.
+@Service
+public class PostSuggestionService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(PostSuggestionService.class);
+    
+    private static final String LOAD_SQL = "SELECT bp.id, bp.title, u.id, u.first_name, u.last_name, u.username, "
+            + "COALESCE(pv.view_count, 0) FROM blog_posts bp JOIN users u ON u.id = bp.author_id "
+            + "LEFT JOIN post_views pv ON pv.post_id = bp.id WHERE bp.is_published = true";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private final int topK;
+    
+    private volatile SuggestionTrie trie;
+    private Map<Long, PostEntry> posts = new HashMap<>();
+    private Map<Long, AuthorEntry> authors = new HashMap<>();
+    
+    private volatile boolean rebuildRequested;
+    
+    public PostSuggestionService(@Value("${app.suggest.top-k:10}") int topK) {
+        this.topK = topK;
+        this.trie = new SuggestionTrie(topK);
+    }
+    
+    public List<Suggestion> suggest(String prefix, int limit) {
+        return trie.suggest(prefix, Math.max(0, Math.min(limit, topK)));
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.suggest.rebuild-interval:PT15M}", initialDelayString = "${app.suggest.rebuild-interval:PT15M}")
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, PostEntry> newPosts = new HashMap<>();
+        Map<Long, AuthorEntry> newAuthors = new HashMap<>();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            long authorId = rs.getLong(3);
+            AuthorEntry author = newAuthors.computeIfAbsent(authorId, id -> new AuthorEntry());
+            author.name = User.fullNameOf(rs.getString(4), rs.getString(5), rs.getString(6));
+            newPosts.put(rs.getLong(1), new PostEntry(rs.getLong(1), rs.getString(2), authorId, rs.getLong(7)));
+        });
+        
+        // Built on the side and swapped in, so suggestions keep working during the rebuild
+        SuggestionTrie newTrie = new SuggestionTrie(topK);
+        for (PostEntry post : newPosts.values()) {
+            newTrie.add(post.suggestion);
+            AuthorEntry author = newAuthors.get(post.authorId);
+            author.posts++;
+            author.views += post.views;
+        }
+        newAuthors.forEach((authorId, author) -> {
+            author.suggestion = new Suggestion(Suggestion.Type.AUTHOR, authorId, author.name, author.views);
+            newTrie.add(author.suggestion);
+        });
+        
+        posts = newPosts;
+        authors = newAuthors;
+        trie = newTrie;
+        logger.info("Suggestions built for {} posts and {} authors in {} ms",
+                newPosts.size(), newAuthors.size(), System.currentTimeMillis() - start);
+    }
+    
+    @EventListener
+    public synchronized void onBlogPostChanged(BlogPostChangedEvent event) {
+        if (!event.affectsPublicListings()) {
+            return;
+        }
+        BlogPost post = event.getBlogPost();
+        PostEntry previous = posts.remove(post.getId());
+        long views = 0;
+        if (previous != null) {
+            trie.remove(previous.suggestion);
+            views = previous.views;
+            changeAuthor(previous.authorId, null, -1, -views);
+        }
+        if (event.isPublished()) {
+            // The author id is available without initializing a lazy author
+            Long authorId = post.getAuthor().getId();
+            String authorName = Hibernate.isInitialized(post.getAuthor()) ? post.getAuthor().getFullName() : null;
+            PostEntry entry = new PostEntry(post.getId(), post.getTitle(), authorId, views);
+            posts.put(post.getId(), entry);
+            trie.add(entry.suggestion);
+            changeAuthor(authorId, authorName, 1, views);
+        }
+    }
+    
+    // Renamed or deleted authors; rare enough to rebuild, but not on the request that changed them
+    @EventListener(UserChangedEvent.class)
+    public void onUserChanged() {
+        rebuildRequested = true;
+    }
+    
+    @EventListener(BlogPostsImportedEvent.class)
+    public void onBlogPostsImported() {
+        rebuildRequested = true;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.suggest.refresh-interval:PT5S}")
+    public void refresh() {
+        if (rebuildRequested) {
+            rebuildRequested = false;
+            rebuild();
+        }
+    }
+    
+    private void changeAuthor(Long authorId, String name, int postDelta, long viewDelta) {
+        AuthorEntry author = authors.get(authorId);
+        if (author == null) {
+            if (name == null) {
+                // Unknown author behind an uninitialized proxy; the next rebuild adds them
+                return;
+            }
+            author = new AuthorEntry();
+            authors.put(authorId, author);
+        } else {
+            trie.remove(author.suggestion);
+        }
+        if (name != null) {
+            author.name = name;
+        }
+        author.posts += postDelta;
+        author.views += viewDelta;
+        if (author.posts <= 0) {
+            authors.remove(authorId);
+            return;
+        }
+        author.suggestion = new Suggestion(Suggestion.Type.AUTHOR, authorId, author.name, author.views);
+        trie.add(author.suggestion);
+    }
+    
+    private static class PostEntry {
+        
+        private final long authorId;
+        private final long views;
+        private final Suggestion suggestion;
+        
+        PostEntry(long postId, String title, long authorId, long views) {
+            this.authorId = authorId;
+            this.views = views;
+            this.suggestion = new Suggestion(Suggestion.Type.POST, postId, title, views);
+        }
+    }
+    
+    private static class AuthorEntry {
+        
+        private String name;
+        private int posts;
+        private long views;
+        private Suggestion suggestion;
+    }
+}
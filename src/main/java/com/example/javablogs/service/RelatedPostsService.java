@@ -0,0 +1,160 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.dto.RelatedPost;
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.event.RelatedPostsChangedEvent;
+import com.example.javablogs.repository.BlogPostRepository;
+import com.example.javablogs.search.MinHashIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Related posts for the detail page, looked up from a MinHashIndex.
+// Post writes only record the latest change per post; signatures are computed off the request path
+// by a scheduled drain, which also builds the whole index on its first run and after imports.
+// Posts whose related list changed are announced with a RelatedPostsChangedEvent.
+@Service
+public class RelatedPostsService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(RelatedPostsService.class);
+    
+    private static final int LOAD_BATCH_SIZE = 500;
+    
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    private final int relatedSize;
+    private final double minSimilarity;
+    
+    // Replaced as a whole by rebuild()
+    private volatile MinHashIndex index;
+    private volatile Map<Long, String> titles = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, BlogPostChangedEvent> pending = new ConcurrentHashMap<>();
+    
+    private volatile boolean rebuildRequested = true;
+    
+    public RelatedPostsService(@Value("${app.related.size:5}") int relatedSize,
+                               @Value("${app.related.min-similarity:0.2}") double minSimilarity) {
+        this.relatedSize = relatedSize;
+        this.minSimilarity = minSimilarity;
+        this.index = new MinHashIndex(relatedSize, minSimilarity);
+    }
+    
+    // Read by the detail page; never runs a query
+    public List<RelatedPost> getRelatedPosts(long postId) {
+        Map<Long, String> titles = this.titles;
+        long[] ids = index.related(postId);
+        List<RelatedPost> posts = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            String title = titles.get(id);
+            if (title != null) {
+                posts.add(new RelatedPost(id, title));
+            }
+        }
+        return posts;
+    }
+    
+    @EventListener
+    public void onBlogPostChanged(BlogPostChangedEvent event) {
+        if (event.affectsPublicListings()) {
+            // Only the latest change of a post matters
+            pending.put(event.getPostId(), event);
+        }
+    }
+    
+    @EventListener(BlogPostsImportedEvent.class)
+    public void onBlogPostsImported() {
+        rebuildRequested = true;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.related.refresh-interval:PT5S}")
+    public synchronized void refresh() {
+        Set<Long> changed = new HashSet<>();
+        if (rebuildRequested) {
+            rebuildRequested = false;
+            changed.addAll(rebuild());
+        }
+        
+        for (Long postId : new ArrayList<>(pending.keySet())) {
+            BlogPostChangedEvent event = pending.remove(postId);
+            if (event.isPublished()) {
+                BlogPost post = event.getBlogPost();
+                changed.addAll(index.put(postId, MinHashIndex.signatureOf(post.getTitle() + " " + post.getContent())));
+                titles.put(postId, post.getTitle());
+            } else {
+                changed.addAll(index.remove(postId));
+                titles.remove(postId);
+            }
+        }
+        
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new RelatedPostsChangedEvent(changed));
+        }
+    }
+    
+    // Built on the side and swapped in, so the detail pages keep their related posts during the rebuild
+    // Returns the posts whose related posts differ from those of the previous index
+    private Set<Long> rebuild() {
+        long start = System.currentTimeMillis();
+        Map<Long, int[]> signatures = new HashMap<>();
+        Map<Long, String> newTitles = new ConcurrentHashMap<>();
+        
+        Long lastId = 0L;
+        List<BlogPost> batch;
+        do {
+            batch = blogPostRepository.findTop500ByPublishedTrueAndIdGreaterThanOrderByIdAsc(lastId);
+            for (BlogPost post : batch) {
+                signatures.put(post.getId(), MinHashIndex.signatureOf(post.getTitle() + " " + post.getContent()));
+                newTitles.put(post.getId(), post.getTitle());
+                lastId = post.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        
+        MinHashIndex newIndex = new MinHashIndex(relatedSize, minSimilarity);
+        newIndex.putAll(signatures);
+        Set<Long> changed = changedPosts(index, titles, newIndex, newTitles);
+        index = newIndex;
+        titles = newTitles;
+        logger.info("Related posts index built with {} posts in {} ms", newIndex.size(), System.currentTimeMillis() - start);
+        return changed;
+    }
+    
+    private static Set<Long> changedPosts(MinHashIndex oldIndex, Map<Long, String> oldTitles,
+                                          MinHashIndex newIndex, Map<Long, String> newTitles) {
+        Set<Long> changed = new HashSet<>();
+        for (Long postId : newTitles.keySet()) {
+            long[] ids = newIndex.related(postId);
+            if (!Arrays.equals(ids, oldIndex.related(postId))) {
+                changed.add(postId);
+                continue;
+            }
+            for (long id : ids) {
+                if (!Objects.equals(oldTitles.get(id), newTitles.get(id))) {
+                    changed.add(postId);
+                    break;
+                }
+            }
+        }
+        return changed;
+    }
+}
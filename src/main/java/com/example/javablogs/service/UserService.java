@@ -1,28 +1,63 @@
 package com.example.javablogs.service;
 
+import com.example.javablogs.dto.AdminUserFilter;
+import com.example.javablogs.dto.UserSummary;
+import com.example.javablogs.entity.BlogPost;
 import com.example.javablogs.entity.Role;
 import com.example.javablogs.entity.User;
+import com.example.javablogs.event.AfterCommit;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.UserChangedEvent;
+import com.example.javablogs.pagination.CursorPage;
+import com.example.javablogs.pagination.KeysetCursor;
+import com.example.javablogs.repository.BlogPostRepository;
 import com.example.javablogs.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional(readOnly = true)
 public class UserService {
     
+    private static final int MAX_ADMIN_PAGE_SIZE = 100;
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    
     @Autowired
     private PasswordEncoder passwordEncoder;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
     
+    public CursorPage<UserSummary> getAdminUsers(AdminUserFilter filter) {
+        int size = Math.min(Math.max(filter.getSize(), 1), MAX_ADMIN_PAGE_SIZE);
+        String sort = filter.getSort().name();
+        KeysetCursor after = KeysetCursor.decode(filter.getCursor(), sort, filter.getSort() != AdminUserFilter.Sort.USERNAME);
+        
+        List<UserSummary> users = userRepository.findAdminPage(filter, after, size + 1);
+        if (users.size() <= size) {
+            return new CursorPage<>(users, null);
+        }
+        List<UserSummary> content = users.subList(0, size);
+        UserSummary last = content.get(size - 1);
+        String value = filter.getSort() == AdminUserFilter.Sort.USERNAME ? last.getUsername() : last.getCreatedAt().toString();
+        return new CursorPage<>(content, new KeysetCursor(sort, value, last.getId()).encode());
+    }
+    
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
@@ -35,6 +70,7 @@ public class UserService {
         return userRepository.findByEmail(email);
     }
     
+    @Transactional
     public User createUser(User user) {
         // Check if username or email already exists
         if (userRepository.existsByUsername(user.getUsername())) {
@@ -52,12 +88,16 @@ public class UserService {
             user.setRole(Role.USER);
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        AfterCommit.publish(eventPublisher, UserChangedEvent.created(saved));
+        return saved;
     }
     
+    @Transactional
     public User updateUser(Long id, User userDetails) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        String previousUsername = user.getUsername();
         
         // Check if username or email already exists (excluding current user)
         if (!user.getUsername().equals(userDetails.getUsername()) && 
@@ -80,13 +120,21 @@ public class UserService {
             user.setPassword(passwordEncoder.encode(userDetails.getPassword()));
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        AfterCommit.publish(eventPublisher, UserChangedEvent.updated(saved, previousUsername));
+        return saved;
     }
     
+    @Transactional
     public void deleteUser(Long id) {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
+        // Posts are removed by cascade, so announce them as deleted too
+        List<BlogPost> posts = blogPostRepository.findByAuthorOrderByCreatedAtDesc(user);
         userRepository.delete(user);
+        
+        posts.forEach(post -> AfterCommit.publish(eventPublisher, BlogPostChangedEvent.deleted(post)));
+        AfterCommit.publish(eventPublisher, UserChangedEvent.deleted(user));
     }
     
     public boolean existsByUsername(String username) {
@@ -97,6 +145,7 @@ public class UserService {
         return userRepository.existsByEmail(email);
     }
     
+    @Transactional
     public User createAdminUser() {
         User admin = new User();
         admin.setUsername("admin");
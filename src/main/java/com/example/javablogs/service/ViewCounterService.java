@@ -0,0 +1,150 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.dto.PostSummary;
+import com.example.javablogs.event.BlogPostChangedEvent;
+import com.example.javablogs.event.BlogPostsImportedEvent;
+import com.example.javablogs.event.UserChangedEvent;
+import com.example.javablogs.repository.BlogPostRepository;
+import com.example.javablogs.views.TrendingPosts;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Write-behind view counting. A page view only increments a striped in-memory counter;
+// a scheduled flush moves the accumulated counts to post_views in one batched upsert
+// and feeds them into the trending ranking, whose top posts are kept ready for the home page.
+@Service
+public class ViewCounterService {
+    
+    private static final Logger logger = LoggerFactory.getLogger(ViewCounterService.class);
+    
+    // Selecting the id from blog_posts makes counts for a deleted post a no-op
+    // instead of a foreign key violation that would fail the whole batch
+    private static final String UPSERT_SQL = "INSERT INTO post_views (post_id, view_count) "
+            + "SELECT id, ? FROM blog_posts WHERE id = ? "
+            + "ON DUPLICATE KEY UPDATE view_count = view_count + ?";
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    
+    private final int trendingSize;
+    private final TrendingPosts trending;
+    
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    
+    private volatile List<PostSummary> trendingPosts = List.of();
+    private volatile boolean trendingStale = true;
+    private List<Long> trendingIds = List.of();
+    
+    public ViewCounterService(@Value("${app.views.trending-half-life:PT6H}") Duration halfLife,
+                              @Value("${app.views.trending-size:5}") int trendingSize) {
+        this.trendingSize = trendingSize;
+        this.trending = new TrendingPosts(halfLife.toSeconds(), Math.max(100, trendingSize * 20),
+                System.currentTimeMillis() / 1000);
+    }
+    
+    public void recordView(long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+    
+    // Read by the home page; never runs a query
+    public List<PostSummary> getTrendingPosts() {
+        return trendingPosts;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.views.flush-interval:PT10S}", initialDelayString = "${app.views.flush-interval:PT10S}")
+    public synchronized void flush() {
+        // Sorted by post id so concurrent flushes from several instances lock rows in the same order
+        Map<Long, Long> views = new TreeMap<>();
+        pending.forEach((postId, counter) -> {
+            long count = counter.sumThenReset();
+            if (count > 0) {
+                views.put(postId, count);
+            } else {
+                // Idle counters are dropped; a view racing with the removal may be lost, which is acceptable here
+                pending.remove(postId, counter);
+            }
+        });
+        
+        if (!views.isEmpty()) {
+            trending.add(views, System.currentTimeMillis() / 1000);
+            persist(views);
+        }
+        refreshTrending();
+    }
+    
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    @EventListener
+    public synchronized void onBlogPostChanged(BlogPostChangedEvent event) {
+        if (event.getType() == BlogPostChangedEvent.Type.DELETED) {
+            pending.remove(event.getPostId());
+            trending.remove(event.getPostId());
+        }
+        // Titles or visibility of trending posts may have changed
+        trendingStale = true;
+    }
+    
+    // Author names are part of the trending summaries
+    @EventListener(UserChangedEvent.class)
+    public void onUserChanged() {
+        trendingStale = true;
+    }
+    
+    @EventListener(BlogPostsImportedEvent.class)
+    public void onBlogPostsImported() {
+        trendingStale = true;
+    }
+    
+    private void persist(Map<Long, Long> views) {
+        List<Object[]> rows = new ArrayList<>(views.size());
+        views.forEach((postId, count) -> rows.add(new Object[] {count, postId, count}));
+        try {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        } catch (DataAccessException e) {
+            // Keep the counts for the next flush
+            views.forEach((postId, count) -> pending.computeIfAbsent(postId, id -> new LongAdder()).add(count));
+            logger.warn("Could not store view counts, will retry: {}", e.getMessage());
+        }
+    }
+    
+    private void refreshTrending() {
+        List<Long> ids = trending.top(trendingSize);
+        if (ids.equals(trendingIds) && !trendingStale) {
+            return;
+        }
+        trendingIds = ids;
+        trendingStale = false;
+        
+        if (ids.isEmpty()) {
+            trendingPosts = List.of();
+            return;
+        }
+        List<PostSummary> posts = new ArrayList<>(blogPostRepository.findSummariesByIdIn(ids));
+        posts.removeIf(post -> !post.isPublished());
+        posts.sort(Comparator.comparingInt(post -> ids.indexOf(post.getId())));
+        trendingPosts = List.copyOf(posts);
+    }
+}
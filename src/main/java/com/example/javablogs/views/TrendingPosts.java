@@ -0,0 +1,68 @@
+package com.example.javablogs.views;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Time-decayed popularity ranking using forward decay: a view at time t adds exp(lambda * (t - landmark)),
+// so older views count exponentially less than new ones without ever touching existing scores.
+// Scores are rescaled to a new landmark before the exponent could overflow.
+//
+// Not thread-safe on its own; ViewCounterService feeds it from the single flush thread.
+public class TrendingPosts {
+    
+    // exp(600) is about 1e260, which leaves plenty of headroom below Double.MAX_VALUE for the sums
+    private static final double MAX_EXPONENT = 600;
+    
+    private final double lambda;
+    private final int capacity;
+    private final Map<Long, Double> scores = new HashMap<>();
+    private long landmarkSeconds;
+    
+    public TrendingPosts(long halfLifeSeconds, int capacity, long nowSeconds) {
+        this.lambda = Math.log(2) / halfLifeSeconds;
+        this.capacity = capacity;
+        this.landmarkSeconds = nowSeconds;
+    }
+    
+    public void add(Map<Long, Long> views, long nowSeconds) {
+        double exponent = lambda * (nowSeconds - landmarkSeconds);
+        if (exponent > MAX_EXPONENT) {
+            rescale(nowSeconds);
+            exponent = 0;
+        }
+        double weight = Math.exp(exponent);
+        views.forEach((postId, count) -> scores.merge(postId, count * weight, Double::sum));
+        
+        if (scores.size() > capacity * 2) {
+            prune();
+        }
+    }
+    
+    public void remove(long postId) {
+        scores.remove(postId);
+    }
+    
+    public List<Long> top(int k) {
+        List<Map.Entry<Long, Double>> entries = new ArrayList<>(scores.entrySet());
+        entries.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        List<Long> ids = new ArrayList<>(Math.min(k, entries.size()));
+        for (int i = 0; i < k && i < entries.size(); i++) {
+            ids.add(entries.get(i).getKey());
+        }
+        return ids;
+    }
+    
+    private void rescale(long nowSeconds) {
+        double factor = Math.exp(-lambda * (nowSeconds - landmarkSeconds));
+        scores.replaceAll((postId, score) -> score * factor);
+        landmarkSeconds = nowSeconds;
+    }
+    
+    // Keeps the highest scores only; everything below is too cold to ever reach the top again soon
+    private void prune() {
+        List<Long> keep = top(capacity);
+        scores.keySet().retainAll(keep);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.javablogs.views;
+
+import com.example.javablogs.service.ViewCounterService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Counts views of /blog/{id}. It sits in front of the page cache, so hits served from memory
+// and 304 revalidations are counted as well, not only requests that reach HomeController.
+public class ViewCountingFilter extends OncePerRequestFilter {
+    
+    // Set on the page cache's own regeneration requests, which are not views
+    public static final String REFRESH_HEADER = "X-Page-Cache-Refresh";
+    
+    private static final Pattern DETAIL_PATH = Pattern.compile("/blog/(\\d{1,18})");
+    
+    private final ViewCounterService viewCounterService;
+    
+    public ViewCountingFilter(ViewCounterService viewCounterService) {
+        this.viewCounterService = viewCounterService;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+        
+        if (!"GET".equals(request.getMethod()) || request.getHeader(REFRESH_HEADER) != null) {
+            return;
+        }
+        int status = response.getStatus();
+        if (status != HttpStatus.OK.value() && status != HttpStatus.NOT_MODIFIED.value()) {
+            return;
+        }
+        Matcher matcher = DETAIL_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (matcher.matches()) {
+            viewCounterService.recordView(Long.parseLong(matcher.group(1)));
+        }
+    }
+}
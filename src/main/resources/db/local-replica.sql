@@ -0,0 +1,4 @@
+-- Run by the local-replica profile on every new replica connection
+CREATE LINKED TABLE IF NOT EXISTS users('org.h2.Driver', 'jdbc:h2:mem:javablogs', 'sa', '', 'users') READONLY;
+CREATE LINKED TABLE IF NOT EXISTS blog_posts('org.h2.Driver', 'jdbc:h2:mem:javablogs', 'sa', '', 'blog_posts') READONLY;
+CREATE LINKED TABLE IF NOT EXISTS post_views('org.h2.Driver', 'jdbc:h2:mem:javablogs', 'sa', '', 'post_views') READONLY;
@@ -0,0 +1,21 @@
+function pollImports() {
+    const rows = document.querySelectorAll('tr[data-running="true"]');
+    if (rows.length === 0) {
+        return;
+    }
+    rows.forEach(row => {
+        fetch(`/admin/import/${row.dataset.jobId}`)
+            .then(response => response.json())
+            .then(job => {
+                row.querySelectorAll('[data-field]').forEach(cell => {
+                    cell.textContent = job[cell.dataset.field];
+                });
+                if (job.finished) {
+                    // Reload once to show the final errors
+                    window.location.reload();
+                }
+            });
+    });
+    setTimeout(pollImports, 1000);
+}
+pollImports();
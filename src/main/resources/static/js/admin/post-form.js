@@ -0,0 +1,37 @@
+function previewPost() {
+    const title = document.getElementById('title').value;
+    const content = document.getElementById('content').value;
+
+    if (!title || !content) {
+        alert('Please fill in both title and content to preview.');
+        return;
+    }
+
+    // Create a new window with the preview
+    const previewWindow = window.open('', '_blank');
+    previewWindow.document.write(`
+        <!DOCTYPE html>
+        <html>
+        <head>
+            <title>${title} - Preview</title>
+            <link href="https://cdn.jsdelivr.net/npm/bootstrap@5.3.0/dist/css/bootstrap.min.css" rel="stylesheet">
+            <style>
+                body { padding: 2rem; }
+                .preview-header { border-bottom: 2px solid #667eea; padding-bottom: 1rem; margin-bottom: 2rem; }
+            </style>
+        </head>
+        <body>
+            <div class="container">
+                <div class="preview-header">
+                    <h1>${title}</h1>
+                    <p class="text-muted">Preview Mode</p>
+                </div>
+                <div class="content">
+                    ${content.replace(/\n/g, '<br>')}
+                </div>
+            </div>
+        </body>
+        </html>
+    `);
+    previewWindow.document.close();
+}
@@ -0,0 +1,9 @@
+function deletePost(postId) {
+    if (confirm('Are you sure you want to delete this post? This action cannot be undone.')) {
+        const form = document.createElement('form');
+        form.method = 'POST';
+        form.action = `/admin/posts/${postId}/delete`;
+        document.body.appendChild(form);
+        form.submit();
+    }
+}
@@ -0,0 +1,76 @@
+// Typeahead for the blog search box, backed by /blog/suggest
+(function () {
+    const input = document.getElementById('search-input');
+    const menu = document.getElementById('search-suggestions');
+    if (!input || !menu) {
+        return;
+    }
+    
+    const url = input.dataset.suggestUrl;
+    let timer = null;
+    let controller = null;
+    
+    function hide() {
+        menu.classList.remove('show');
+        menu.replaceChildren();
+    }
+    
+    function render(suggestions) {
+        menu.replaceChildren();
+        suggestions.forEach(function (suggestion) {
+            const link = document.createElement('a');
+            link.className = 'dropdown-item';
+            if (suggestion.type === 'POST') {
+                link.href = `/blog/${suggestion.id}`;
+                link.textContent = suggestion.text;
+            } else {
+                link.href = '#';
+                link.textContent = suggestion.text;
+                const badge = document.createElement('small');
+                badge.className = 'text-muted ms-2';
+                badge.textContent = 'author';
+                link.appendChild(badge);
+                link.addEventListener('click', function (event) {
+                    event.preventDefault();
+                    input.value = suggestion.text;
+                    input.form.submit();
+                });
+            }
+            const item = document.createElement('li');
+            item.appendChild(link);
+            menu.appendChild(item);
+        });
+        menu.classList.toggle('show', suggestions.length > 0);
+    }
+    
+    function fetchSuggestions() {
+        const query = input.value.trim();
+        if (query.length < 2) {
+            hide();
+            return;
+        }
+        if (controller) {
+            controller.abort();
+        }
+        controller = new AbortController();
+        fetch(`${url}?q=${encodeURIComponent(query)}`, { signal: controller.signal })
+            .then(function (response) { return response.ok ? response.json() : []; })
+            .then(render)
+            .catch(function () {});
+    }
+    
+    input.addEventListener('input', function () {
+        clearTimeout(timer);
+        timer = setTimeout(fetchSuggestions, 120);
+    });
+    input.addEventListener('keydown', function (event) {
+        if (event.key === 'Escape') {
+            hide();
+        }
+    });
+    document.addEventListener('click', function (event) {
+        if (!menu.contains(event.target) && event.target !== input) {
+            hide();
+        }
+    });
+})();
@@ -0,0 +1,103 @@
+package com.example.javablogs.concurrent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+    
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    
+    private final CountDownLatch loading = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), registry);
+        Future<String> leader = executor.submit(() -> flight.execute("key", () -> blockedLoad("value")));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        Future<String> follower = executor.submit(() -> flight.execute("key", () -> "second load"));
+        awaitCount("coalesced", 1);
+        release.countDown();
+        
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        assertThat(count("load")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+    
+    @Test
+    void followerRethrowsTheLeadersException() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofSeconds(5), registry);
+        IllegalStateException failure = new IllegalStateException("load failed");
+        Future<String> leader = executor.submit(() -> flight.execute("key", () -> {
+            blockedLoad(null);
+            throw failure;
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        Future<String> follower = executor.submit(() -> flight.execute("key", () -> "second load"));
+        awaitCount("coalesced", 1);
+        release.countDown();
+        
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        assertThat(count("failure")).isEqualTo(1);
+    }
+    
+    @Test
+    void followerGivesUpAfterTheTimeout() throws Exception {
+        SingleFlight<String, String> flight = new SingleFlight<>("test", Duration.ofMillis(50), registry);
+        Future<String> leader = executor.submit(() -> flight.execute("key", () -> blockedLoad("value")));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        
+        assertThatThrownBy(() -> flight.execute("key", () -> "second load"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Timed out");
+        assertThat(count("timeout")).isEqualTo(1);
+        
+        // The stuck load still completes for its own caller
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+    }
+    
+    private String blockedLoad(String value) {
+        loading.countDown();
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+    
+    // The follower counts itself as coalesced just before it starts waiting
+    private void awaitCount(String result, double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count(result) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+    
+    private double count(String result) {
+        return registry.get("app.single-flight.calls").tag("result", result).counter().count();
+    }
+}
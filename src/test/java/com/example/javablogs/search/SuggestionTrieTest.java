@@ -0,0 +1,91 @@
+package com.example.javablogs.search;
+
+import com.example.javablogs.search.SuggestionTrie.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+    
+    @Test
+    void sharedPrefixSplitsTheEdge() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        Suggestion boot = post(1, "Spring Boot", 10);
+        Suggestion cloud = post(2, "Spring Cloud", 5);
+        
+        trie.add(boot);
+        // "spring boot" and "boot"
+        assertThat(trie.nodeCount()).isEqualTo(2);
+        
+        trie.add(cloud);
+        // "spring " with children "boot" and "cloud", plus "boot" and "cloud" under the root
+        assertThat(trie.nodeCount()).isEqualTo(5);
+        assertThat(trie.suggest("spring", 10)).containsExactly(boot, cloud);
+        assertThat(trie.suggest("spring c", 10)).containsExactly(cloud);
+    }
+    
+    @Test
+    void removeFoldsSingleChildBackIntoItsParent() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        Suggestion boot = post(1, "Spring Boot", 10);
+        Suggestion cloud = post(2, "Spring Cloud", 5);
+        trie.add(boot);
+        trie.add(cloud);
+        
+        trie.remove(cloud);
+        
+        assertThat(trie.nodeCount()).isEqualTo(2);
+        assertThat(trie.size()).isEqualTo(1);
+        assertThat(trie.suggest("spring", 10)).containsExactly(boot);
+        assertThat(trie.suggest("spring c", 10)).isEmpty();
+        assertThat(trie.suggest("cloud", 10)).isEmpty();
+    }
+    
+    @Test
+    void prefixEndingInsideAnEdgeMatches() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        Suggestion boot = post(1, "Spring Boot", 10);
+        trie.add(boot);
+        
+        assertThat(trie.suggest("spr", 10)).containsExactly(boot);
+        assertThat(trie.suggest("Spring Bo", 10)).containsExactly(boot);
+        assertThat(trie.suggest("spx", 10)).isEmpty();
+        assertThat(trie.suggest("spring boots", 10)).isEmpty();
+    }
+    
+    @Test
+    void suggestionStoredUnderSeveralWordStartsIsReturnedOnce() {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        // Stored under "java java tips", "java tips" and "tips", the first two in the same subtree
+        Suggestion tips = post(1, "Java java tips", 10);
+        Suggestion other = post(2, "Java streams", 5);
+        trie.add(tips);
+        trie.add(other);
+        
+        assertThat(trie.suggest("java", 10)).containsExactly(tips, other);
+    }
+    
+    @Test
+    void topSuggestionsAreReorderedAfterRemove() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        Suggestion first = post(1, "Spring Boot", 30);
+        Suggestion second = post(2, "Spring Cloud", 20);
+        Suggestion third = post(3, "Spring Data", 10);
+        trie.add(third);
+        trie.add(first);
+        trie.add(second);
+        assertThat(trie.suggest("spring", 10)).containsExactly(first, second);
+        
+        trie.remove(first);
+        
+        List<Suggestion> suggestions = trie.suggest("spring", 10);
+        assertThat(suggestions).containsExactly(second, third);
+        assertThat(trie.suggest("s", 1)).containsExactly(second);
+    }
+    
+    private static Suggestion post(long id, String title, long views) {
+        return new Suggestion(Suggestion.Type.POST, id, title, views);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.javablogs.service;
+
+import com.example.javablogs.dto.AdminPostFilter;
+import com.example.javablogs.entity.BlogPost;
+import com.example.javablogs.entity.Role;
+import com.example.javablogs.entity.User;
+import com.example.javablogs.repository.BlogPostRepository;
+import com.example.javablogs.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The listing queries must not issue a statement per row (lazy authors, excerpts, counts):
+// a page of 50 posts has to cost as many statements as a page of 5.
+@SpringBootTest
+@ActiveProfiles("test")
+class BlogPostServiceStatementCountTest {
+    
+    private static final int POSTS = 60;
+    private static final int AUTHORS = 6;
+    
+    @Autowired
+    private BlogPostService blogPostService;
+    
+    @Autowired
+    private BlogPostRepository blogPostRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @BeforeEach
+    void seed() {
+        if (blogPostRepository.count() > 0) {
+            return;
+        }
+        List<User> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            User author = new User("author" + i, "author" + i + "@javablogs.com", "password", Role.USER);
+            author.setFirstName("First" + i);
+            author.setLastName("Last" + i);
+            authors.add(author);
+        }
+        authors = userRepository.saveAll(authors);
+        
+        List<BlogPost> posts = new ArrayList<>();
+        for (int i = 0; i < POSTS; i++) {
+            BlogPost post = new BlogPost("Post " + i, "Content of post " + i + " about Spring and JPA.", authors.get(i % AUTHORS));
+            post.setPublished(true);
+            posts.add(post);
+        }
+        blogPostRepository.saveAll(posts);
+    }
+    
+    @Test
+    void offsetPageStatementsDoNotGrowWithPageSize() {
+        assertSameStatementCount(size -> blogPostService.getPublishedBlogPosts(0, size));
+    }
+    
+    @Test
+    void cursorPageStatementsDoNotGrowWithPageSize() {
+        assertSameStatementCount(size -> blogPostService.getPublishedBlogPosts(null, size));
+    }
+    
+    @Test
+    void adminPageStatementsDoNotGrowWithPageSize() {
+        assertSameStatementCount(size -> {
+            AdminPostFilter filter = new AdminPostFilter();
+            filter.setSize(size);
+            blogPostService.getAdminPosts(filter);
+        });
+    }
+    
+    private void assertSameStatementCount(IntConsumer listing) {
+        long small = statementCount(listing, 5);
+        long large = statementCount(listing, 50);
+        
+        // A page query plus at most a count query
+        assertThat(small).isBetween(1L, 2L);
+        assertThat(large).isEqualTo(small);
+    }
+    
+    private long statementCount(IntConsumer listing, int size) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        listing.accept(size);
+        return statistics.getPrepareStatementCount();
+    }
+}